@@ -0,0 +1,142 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.VoidOutput;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchArchiveTask extends AbstractBatchTask {
+
+    @Schema(
+        title = "Record IDs to archive",
+        description = "Inline list of record IDs. Use `from` instead for large lists; rows of that file are either IDs or maps with an `id` key."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> ids;
+
+    @Schema(
+        title = "Drop the records this task changes from the shared Get cache",
+        description = "Get tasks with `cache.shared` keep records in the namespace KV store. Once its changes are made, this task reads a single KV key telling whether records of this object type are shared, and only then deletes the ones it changed. Set to false when no Get task of the namespace shares records, to save that KV read. A KV store error only logs a warning, since the changes are already made in HubSpot. Default is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> evictSharedCache = Property.ofValue(true);
+
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        URI uri = URI.create(getBatchURL("archive"));
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        String portal = portalKey(runContext);
+        Queue<String> archived = new ConcurrentLinkedQueue<>();
+        long failed;
+
+        try (
+            HubspotClient client = client(runContext);
+            var output = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            Flux<Map<String, Object>> failures = processChunks(
+                runContext,
+                readIds(runContext, this.ids),
+                chunk -> archiveChunk(runContext, client, uri, portal, chunk, archived)
+            );
+
+            failed = FileSerde.writeAll(output, failures).block();
+        }
+
+        evictShared(runContext, portal, archived);
+
+        if (failed > 0) {
+            logger.warn("Archived {} records, {} failed", archived.size(), failed);
+        } else {
+            logger.info("Archived {} records", archived.size());
+        }
+
+        return Output.builder()
+            .archived(archived.size())
+            .failed(Math.toIntExact(failed))
+            .uri(runContext.storage().putFile(tempFile))
+            .build();
+    }
+
+    /**
+     * Archives one chunk and returns the IDs that could not be archived. HubSpot
+     * answers 204 for the whole chunk or rejects it as a whole, so a chunk
+     * rejected for its content reports every one of its IDs as failed instead
+     * of failing the task. Any other error, once retries are exhausted, fails it.
+     */
+    List<Map<String, Object>> archiveChunk(RunContext runContext, HubspotClient client, URI uri, String portal,
+                                           List<String> chunk, Queue<String> archived) throws Exception {
+        Map<String, Object> requestBody = Map.of("inputs", chunk.stream().map(id -> Map.of("id", id)).toList());
+
+        try {
+            makeCall(client, batchRequest(runContext, uri, requestBody), VoidOutput.class);
+        } catch (HubspotException e) {
+            // only a chunk rejected for its content is reported, an outage or an auth error fails the task
+            if (!e.isInputError() && !e.isNotFound()) {
+                throw e;
+            }
+
+            runContext.logger().warn("HubSpot batch archive failed for {} records: {}", chunk.size(), e.getMessage());
+
+            List<Map<String, Object>> failures = new ArrayList<>();
+            for (String id : chunk) {
+                failures.add(Map.of("id", id, "message", String.valueOf(e.getMessage())));
+            }
+            return failures;
+        }
+
+        HubspotRecordCache cache = HubspotRecordCache.getInstance();
+        for (String id : chunk) {
+            cache.invalidate(portal, getObjectType(), id);
+        }
+
+        archived.addAll(chunk);
+        return List.of();
+    }
+
+    @Override
+    protected Property<Boolean> sharedCacheEviction() {
+        return this.evictSharedCache;
+    }
+
+    @Getter
+    @Builder
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Number of records archived"
+        )
+        private Integer archived;
+
+        @Schema(
+            title = "Number of records that could not be archived"
+        )
+        private Integer failed;
+
+        @Schema(
+            title = "URI of failed records",
+            description = "Internal storage URI containing the ID and error message of every record that could not be archived."
+        )
+        private URI uri;
+    }
+}
@@ -0,0 +1,78 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.util.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchCreateTask extends AbstractBatchWriteTask {
+
+    private static final TypeReference<Map<String, Object>> INPUT_TYPE = new TypeReference<>() {};
+
+    public Output run(RunContext runContext) throws Exception {
+        WriteResult result = write(
+            runContext,
+            "create",
+            row -> mapper.convertValue(toRequest(row), INPUT_TYPE),
+            AbstractBatchCreateTask::toRecord
+        );
+
+        runContext.logger().info("Created {} records", result.count());
+
+        return Output.builder()
+            .count(Math.toIntExact(result.count()))
+            .uri(result.uri())
+            .errors(Math.toIntExact(result.errors()))
+            .errorsUri(result.errorsUri())
+            .build();
+    }
+
+    /**
+     * Maps a row of the {@code from} file to the same request body the single-record Create task sends.
+     */
+    protected abstract Object toRequest(Map<String, Object> row);
+
+    private static Map<String, Object> toRecord(HubspotBatchResponse.Result result) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", result.getId());
+        record.put("properties", result.getProperties());
+        return record;
+    }
+
+    @Getter
+    @Builder
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Number of records created"
+        )
+        private Integer count;
+
+        @Schema(
+            title = "URI of created records",
+            description = "Internal storage URI containing the row `index`, ID and properties of every created record, in input order unless `ordered` is false."
+        )
+        private URI uri;
+
+        @Schema(
+            title = "Number of rows that could not be created"
+        )
+        private Integer errors;
+
+        @Schema(
+            title = "URI of failed rows",
+            description = "Internal storage URI containing every row that could not be created, with its `index`, the HubSpot error code and message. The `index` of a row is its position in `from`, starting at 0, and is sent to HubSpot as `objectWriteTraceId`."
+        )
+        private URI errorsUri;
+    }
+}
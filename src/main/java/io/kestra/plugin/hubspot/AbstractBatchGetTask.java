@@ -0,0 +1,190 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchGetTask extends AbstractBatchTask {
+
+    @Schema(
+        title = "Record IDs to read",
+        description = "Inline list of record IDs. Use `from` instead for large lists; rows of that file are either IDs or maps with an `id` key."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> ids;
+
+    @Schema(
+        title = "Specific properties to include in the response",
+        description = "Optional list of property names. Leave empty to return default properties."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> properties;
+
+    @Schema(
+        title = "Unique property the records are looked up by",
+        description = "Optional. When set, the given IDs are matched against this property instead of the HubSpot record ID, e.g. `email` for contacts or a custom unique property."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> idProperty;
+
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        List<String> renderedProperties = runContext.render(this.properties).asList(String.class);
+        String renderedIdProperty = runContext.render(this.idProperty).as(String.class).orElse(null);
+
+        Flux<String> recordIds = readIds(runContext, this.ids);
+
+        URI uri = URI.create(getBatchURL("read"));
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        File missingFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong missing = new AtomicLong();
+        long count;
+
+        try (
+            HubspotClient client = client(runContext);
+            var output = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE);
+            var missingOutput = new BufferedWriter(new FileWriter(missingFile), FileSerde.BUFFER_SIZE)
+        ) {
+            Flux<Map<String, Object>> records = processChunks(
+                runContext,
+                recordIds,
+                chunk -> readChunk(runContext, client, uri, renderedProperties, renderedIdProperty, chunk)
+            ).handle((read, sink) -> {
+                if (read.missing() == null) {
+                    sink.next(read.record());
+                    return;
+                }
+
+                // reads are emitted one at a time, so the missing file is never written concurrently
+                try {
+                    missing.addAndGet(FileSerde.writeAll(missingOutput, Flux.just(read.missing())).block());
+                } catch (Exception e) {
+                    sink.error(e);
+                }
+            });
+
+            count = FileSerde.writeAll(output, records).block();
+        }
+
+        if (missing.get() > 0) {
+            logger.warn("Retrieved {} records, {} IDs were not found, see the missing file", count, missing.get());
+            runContext.metric(Counter.of("records.notFound", missing.get()));
+        } else {
+            logger.info("Retrieved {} records", count);
+        }
+
+        return Output.builder()
+            .count(Math.toIntExact(count))
+            .uri(runContext.storage().putFile(tempFile))
+            .missing(Math.toIntExact(missing.get()))
+            .missingUri(runContext.storage().putFile(missingFile))
+            .build();
+    }
+
+    private List<Read> readChunk(RunContext runContext, HubspotClient client, URI uri,
+                                 List<String> renderedProperties, String renderedIdProperty, List<String> chunk) throws Exception {
+        HubspotBatchResponse response = postBatch(runContext, client, uri, requestBody(chunk, renderedProperties, renderedIdProperty));
+
+        List<Read> reads = new ArrayList<>();
+        if (response.getResults() != null) {
+            for (HubspotBatchResponse.Result result : response.getResults()) {
+                reads.add(new Read(result.getProperties(), null));
+            }
+        }
+        for (Map<String, Object> entry : missing(response)) {
+            reads.add(new Read(null, entry));
+        }
+        return reads;
+    }
+
+    static Map<String, Object> requestBody(List<String> chunk, List<String> properties, String idProperty) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("inputs", chunk.stream().map(id -> Map.of("id", id)).toList());
+        if (properties != null && !properties.isEmpty()) {
+            requestBody.put("properties", properties);
+        }
+        if (idProperty != null) {
+            requestBody.put("idProperty", idProperty);
+        }
+        return requestBody;
+    }
+
+    /**
+     * IDs a 207 multi-status response reports as failed, typically
+     * {@code OBJECT_NOT_FOUND} for deleted or unknown records, one entry per ID
+     * listed in the error context. An error without context is reported once,
+     * without ID.
+     */
+    static List<Map<String, Object>> missing(HubspotBatchResponse response) {
+        if (response == null || response.getErrors() == null) {
+            return List.of();
+        }
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (HubspotBatchResponse.Error error : response.getErrors()) {
+            List<String> ids = error.getContext() == null ? List.of() : error.getContext().values().stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .toList();
+
+            for (String id : ids.isEmpty() ? Collections.<String>singletonList(null) : ids) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("id", id);
+                entry.put("category", error.getCategory());
+                entry.put("message", error.getMessage());
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private record Read(Map<String, Object> record, Map<String, Object> missing) {}
+
+    @Getter
+    @Builder
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Number of records retrieved"
+        )
+        private Integer count;
+
+        @Schema(
+            title = "URI of stored records",
+            description = "Internal storage URI containing the properties of every record found."
+        )
+        private URI uri;
+
+        @Schema(
+            title = "Number of IDs HubSpot did not return a record for"
+        )
+        private Integer missing;
+
+        @Schema(
+            title = "URI of IDs not found",
+            description = "Internal storage URI containing every ID HubSpot reported as failed, with the error category and message, usually `OBJECT_NOT_FOUND` for deleted or unknown records."
+        )
+        private URI missingUri;
+    }
+}
@@ -0,0 +1,174 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchTask extends HubspotConnection {
+
+    // HubSpot rejects batch requests with more inputs than this
+    public static final int MAX_BATCH_SIZE = 100;
+
+    @Schema(
+        title = "Internal storage URI of the input file",
+        description = "ION file produced by a previous task, one input per row."
+    )
+    @PluginProperty(internalStorageURI = true, group = "source")
+    private Property<String> from;
+
+    @Schema(
+        title = "Number of inputs sent per batch request",
+        description = "Default and maximum is 100."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> chunkSize = Property.ofValue(MAX_BATCH_SIZE);
+
+    @Schema(
+        title = "Maximum number of batch requests in flight",
+        description = "Chunks are sent concurrently up to this limit; all of them share the portal rate limiter. Default is 4."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Keep output records in input order",
+        description = "If false, each chunk is written as soon as it completes, which avoids holding finished chunks behind a slow one. Default is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> ordered = Property.ofValue(true);
+
+    /**
+     * Splits the inputs into chunks and sends them through {@code handler},
+     * with at most {@code concurrency} chunks in flight. Inputs are pulled from
+     * upstream only as chunks complete, so memory stays bounded by the number of
+     * chunks in flight whatever the input size.
+     */
+    protected <I, O> Flux<O> processChunks(RunContext runContext, Flux<I> inputs, ChunkHandler<I, O> handler) throws IllegalVariableEvaluationException {
+        int size = renderChunkSize(runContext);
+        int inFlight = Math.max(1, runContext.render(this.concurrency).as(Integer.class).orElse(4));
+        boolean keepOrder = runContext.render(this.ordered).as(Boolean.class).orElse(true);
+
+        Function<List<I>, Mono<List<O>>> call = chunk -> Mono.fromCallable(() -> handler.handle(chunk))
+            .subscribeOn(Schedulers.boundedElastic());
+
+        Flux<List<I>> chunks = inputs.buffer(size);
+        Flux<List<O>> results = keepOrder ? chunks.flatMapSequential(call, inFlight) : chunks.flatMap(call, inFlight);
+
+        return results.flatMapIterable(list -> list);
+    }
+
+    protected int renderChunkSize(RunContext runContext) throws IllegalVariableEvaluationException {
+        int size = runContext.render(this.chunkSize).as(Integer.class).orElse(MAX_BATCH_SIZE);
+        return Math.max(1, Math.min(size, MAX_BATCH_SIZE));
+    }
+
+    /**
+     * Rows of the {@code from} file, read lazily so that only the chunks being
+     * sent are kept in memory. Empty when {@code from} is not set.
+     */
+    protected Flux<Object> readFrom(RunContext runContext) throws IllegalVariableEvaluationException {
+        var rendered = runContext.render(this.from).as(String.class);
+        if (rendered.isEmpty()) {
+            return Flux.empty();
+        }
+
+        URI uri = URI.create(rendered.get());
+        return Flux.using(
+            () -> new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri)), FileSerde.BUFFER_SIZE),
+            reader -> {
+                try {
+                    return FileSerde.readAll(reader);
+                } catch (Exception e) {
+                    return Flux.error(e);
+                }
+            },
+            reader -> {
+                try {
+                    reader.close();
+                } catch (Exception ignored) {
+                    // nothing left to read
+                }
+            }
+        );
+    }
+
+    /**
+     * Record IDs from an inline list followed by the rows of the {@code from}
+     * file, which are either IDs or maps with an {@code id} key.
+     */
+    protected Flux<String> readIds(RunContext runContext, Property<List<String>> ids) throws IllegalVariableEvaluationException {
+        return Flux.concat(
+            Flux.fromIterable(Optional.ofNullable(runContext.render(ids).asList(String.class)).orElse(List.of())),
+            readFrom(runContext).map(AbstractBatchTask::toRecordId)
+        );
+    }
+
+    private static String toRecordId(Object row) {
+        if (row instanceof Map<?, ?> map) {
+            return String.valueOf(map.get("id"));
+        }
+        return String.valueOf(row);
+    }
+
+    /**
+     * Sends one batch request; partial failures are logged and the successful results returned.
+     */
+    protected HubspotBatchResponse postBatch(RunContext runContext, HubspotClient client, URI uri, Object requestBody) throws Exception {
+        HubspotBatchResponse response = makeCall(client, batchRequest(runContext, uri, requestBody), HubspotBatchResponse.class);
+
+        if (response.getErrors() != null && !response.getErrors().isEmpty()) {
+            for (HubspotBatchResponse.Error error : response.getErrors()) {
+                runContext.logger().warn("HubSpot batch error ({}): {}", error.getCategory(), error.getMessage());
+            }
+        }
+
+        return response;
+    }
+
+    protected HttpRequest.HttpRequestBuilder batchRequest(RunContext runContext, URI uri, Object requestBody) throws Exception {
+        HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
+            .uri(uri)
+            .addHeader("Content-Type", JSON_CONTENT_TYPE)
+            .method("POST")
+            .body(HttpRequest.StringRequestBody.builder().content(mapper.writeValueAsString(requestBody)).build());
+
+        getAuthorizedRequest(runContext, requestBuilder);
+
+        return requestBuilder;
+    }
+
+    protected String getBatchURL(String action) {
+        return buildHubspotURL() + "/batch/" + action;
+    }
+
+    @FunctionalInterface
+    protected interface ChunkHandler<I, O> {
+        List<O> handle(List<I> chunk) throws Exception;
+    }
+}
@@ -0,0 +1,137 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.util.*;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchUpdateTask extends AbstractBatchWriteTask {
+
+    @Schema(
+        title = "Skip records that already hold these values",
+        description = "If true, the current values of each chunk are read with one batch read request and rows that would change nothing are not sent; they are flagged as `skipped` in the result file. That read is paid for every chunk, so a chunk whose rows all change costs two requests instead of one. Numbers and booleans are compared by value when given as such, dates given as ISO-8601 are compared as instants, and any other text is compared as is. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> skipIfUnchanged = Property.ofValue(false);
+
+    public Output run(RunContext runContext) throws Exception {
+        WriteResult result = write(
+            runContext,
+            "update",
+            AbstractBatchUpdateTask::toInput,
+            AbstractBatchUpdateTask::toRecord
+        );
+
+        runContext.logger().info("Updated {} records, skipped {} unchanged", result.count(), result.skipped());
+        if (runContext.render(this.skipIfUnchanged).as(Boolean.class).orElse(false)) {
+            // counted once written, so that rows HubSpot rejected are not
+            runContext.metric(Counter.of("records.written", result.count()));
+        }
+
+        return Output.builder()
+            .count(Math.toIntExact(result.count()))
+            .skipped(Math.toIntExact(result.skipped()))
+            .uri(result.uri())
+            .errors(Math.toIntExact(result.errors()))
+            .errorsUri(result.errorsUri())
+            .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Set<String> unchangedTraceIds(RunContext runContext, HubspotClient client, List<Map<String, Object>> inputs) throws Exception {
+        if (!runContext.render(this.skipIfUnchanged).as(Boolean.class).orElse(false)) {
+            return Set.of();
+        }
+
+        Set<String> names = new TreeSet<>();
+        inputs.forEach(input -> names.addAll(((Map<String, Object>) input.get("properties")).keySet()));
+
+        Map<String, Object> requestBody = Map.of(
+            "inputs", inputs.stream().map(input -> Map.of("id", input.get("id"))).toList(),
+            "properties", new ArrayList<>(names)
+        );
+        HubspotBatchResponse current = postBatch(runContext, client, URI.create(getBatchURL("read")), requestBody);
+
+        Map<String, Map<String, Object>> currentById = new HashMap<>();
+        if (current.getResults() != null) {
+            current.getResults().forEach(result -> currentById.put(result.getId(), result.getProperties()));
+        }
+
+        Set<String> unchanged = new HashSet<>();
+        for (Map<String, Object> input : inputs) {
+            if (PropertyDiff.unchanged((Map<String, Object>) input.get("properties"), currentById.get((String) input.get("id")))) {
+                unchanged.add((String) input.get(TRACE_ID));
+            }
+        }
+
+        runContext.metric(Counter.of("records.skipped", unchanged.size()));
+        return unchanged;
+    }
+
+    private static Map<String, Object> toInput(Map<String, Object> row) {
+        if (row.get("id") == null) {
+            throw new IllegalArgumentException("Row has no 'id'");
+        }
+        if (!(row.get("properties") instanceof Map<?, ?> properties)) {
+            throw new IllegalArgumentException("Row has no 'properties' object");
+        }
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("id", String.valueOf(row.get("id")));
+        input.put("properties", properties);
+        return input;
+    }
+
+    private static Map<String, Object> toRecord(HubspotBatchResponse.Result result) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", result.getId());
+        record.put("properties", result.getProperties());
+        record.put("skipped", false);
+        return record;
+    }
+
+    @Getter
+    @Builder
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Number of records updated"
+        )
+        private Integer count;
+
+        @Schema(
+            title = "URI of updated records",
+            description = "Internal storage URI containing the row `index`, ID and properties of every updated or skipped record, in input order unless `ordered` is false."
+        )
+        private URI uri;
+
+        @Schema(
+            title = "Number of records skipped because nothing changed"
+        )
+        private Integer skipped;
+
+        @Schema(
+            title = "Number of rows that could not be updated"
+        )
+        private Integer errors;
+
+        @Schema(
+            title = "URI of failed rows",
+            description = "Internal storage URI containing every row that could not be updated, with its `index`, the HubSpot error code and message. The `index` of a row is its position in `from`, starting at 0, and is sent to HubSpot as `objectWriteTraceId`."
+        )
+        private URI errorsUri;
+    }
+}
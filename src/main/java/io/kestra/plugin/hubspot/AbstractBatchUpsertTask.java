@@ -0,0 +1,135 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchUpsertTask extends AbstractBatchWriteTask {
+
+    private static final TypeReference<Map<String, Object>> INPUT_TYPE = new TypeReference<>() {};
+
+    @Schema(
+        title = "Unique property used to match existing records",
+        description = "Name of a property with unique values, such as `email` for contacts or `domain` for companies. Each row is matched on the value of this property, read from the row properties or, failing that, from a row field of the same name; the `id` field of a row is never used. Defaults to the natural key of the object type when it has one."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> idProperty;
+
+    public Output run(RunContext runContext) throws Exception {
+        String renderedIdProperty = runContext.render(this.idProperty).as(String.class)
+            .or(() -> Optional.ofNullable(getDefaultIdProperty()))
+            .orElseThrow(() -> new IllegalArgumentException("`idProperty` is required to upsert " + getEndpoint()));
+
+        AtomicLong created = new AtomicLong();
+
+        WriteResult result = write(
+            runContext,
+            "upsert",
+            row -> toInput(renderedIdProperty, row),
+            upserted -> toRecord(upserted, created)
+        );
+
+        long updated = result.count() - created.get();
+        runContext.logger().info("Upserted {} records: {} created, {} updated", result.count(), created.get(), updated);
+
+        return Output.builder()
+            .count(Math.toIntExact(result.count()))
+            .created(Math.toIntExact(created.get()))
+            .updated(Math.toIntExact(updated))
+            .uri(result.uri())
+            .errors(Math.toIntExact(result.errors()))
+            .errorsUri(result.errorsUri())
+            .build();
+    }
+
+    /**
+     * Maps a row of the {@code from} file to the same request body the single-record Create task sends,
+     * without requiring the fields only a create needs.
+     */
+    protected abstract Object toRequest(Map<String, Object> row);
+
+    /**
+     * Unique property used when {@code idProperty} is not set, or null when the object type has none.
+     */
+    protected abstract String getDefaultIdProperty();
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> toInput(String idProperty, Map<String, Object> row) {
+        Map<String, Object> input = new HashMap<>(mapper.convertValue(toRequest(row), INPUT_TYPE));
+        Map<String, Object> properties = (Map<String, Object>) input.getOrDefault("properties", Map.of());
+
+        // the record ID of a row is never a value of the unique property, so only the property itself is matched on
+        Object id = Optional.ofNullable(properties.get(idProperty)).orElse(row.get(idProperty));
+        if (id == null) {
+            throw new IllegalArgumentException("Row has no value for '" + idProperty + "'");
+        }
+
+        input.put("idProperty", idProperty);
+        input.put("id", String.valueOf(id));
+        return input;
+    }
+
+    static Map<String, Object> toRecord(HubspotBatchResponse.Result result, AtomicLong created) {
+        boolean isNew = Boolean.TRUE.equals(result.getCreated());
+        if (isNew) {
+            created.incrementAndGet();
+        }
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", result.getId());
+        record.put("created", isNew);
+        record.put("properties", result.getProperties());
+        return record;
+    }
+
+    @Getter
+    @Builder
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Number of records upserted"
+        )
+        private Integer count;
+
+        @Schema(
+            title = "Number of records created"
+        )
+        private Integer created;
+
+        @Schema(
+            title = "Number of existing records updated"
+        )
+        private Integer updated;
+
+        @Schema(
+            title = "URI of upserted records",
+            description = "Internal storage URI containing the row `index`, ID, a `created` flag and the properties of every upserted record, in input order unless `ordered` is false."
+        )
+        private URI uri;
+
+        @Schema(
+            title = "Number of rows that could not be upserted"
+        )
+        private Integer errors;
+
+        @Schema(
+            title = "URI of failed rows",
+            description = "Internal storage URI containing every row that could not be upserted, with its `index`, the HubSpot error code and message. The `index` of a row is its position in `from`, starting at 0, and is sent to HubSpot as `objectWriteTraceId`."
+        )
+        private URI errorsUri;
+    }
+}
@@ -0,0 +1,516 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+
+/**
+ * Base of the batch tasks that write records. Rows of {@code from} are sent in
+ * chunks and every row ends up either in the result file or in the error file.
+ *
+ * HubSpot reports per-record failures in two ways: a 207 multi-status response
+ * listing the failed inputs, or a 4xx rejecting the whole chunk because of a
+ * single invalid input. Failed inputs of a 207 are retried alone when their
+ * error is transient; a rejected chunk is split in halves until the invalid
+ * rows are isolated, so one bad email does not discard the 99 other records.
+ * Only an unknown property set on every row of the chunk fails them all at
+ * once, since no split could ever be accepted.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractBatchWriteTask extends AbstractBatchTask {
+
+    protected static final String TRACE_ID = "objectWriteTraceId";
+
+    private static final String PROPERTY_DOESNT_EXIST = "PROPERTY_DOESNT_EXIST";
+
+    private static final Pattern UNKNOWN_PROPERTY = Pattern.compile("Property \"([^\"]+)\" does not exist");
+
+    @Schema(
+        title = "Validate properties against the portal's property definitions before sending",
+        description = "If true, rows with unknown or read-only properties, options that are not allowed, or malformed numbers, booleans and dates go to the errors file without being sent, so they neither use rate budget nor get a chunk rejected. Option labels are replaced by their value, and dates by the format HubSpot expects. Definitions are cached per portal and object type for `propertyDefinitionsTtl`. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> validateProperties = Property.ofValue(false);
+
+    @Schema(
+        title = "How long property definitions are reused",
+        description = "Definitions used by `validateProperties` are cached per portal and object type for this long. A property missing from them reloads them once before failing, so properties created since are seen right away. Default is 10 minutes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> propertyDefinitionsTtl = Property.ofValue(HubspotPropertySchema.DEFAULT_TTL);
+
+    @Schema(
+        title = "Drop the records this task changes from the shared Get cache",
+        description = "Get tasks with `cache.shared` keep records in the namespace KV store. Once its changes are made, this task reads a single KV key telling whether records of this object type are shared, and only then deletes the ones it changed. Set to false when no Get task of the namespace shares records, to save that KV read. A KV store error only logs a warning, since the changes are already made in HubSpot. Default is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> evictSharedCache = Property.ofValue(true);
+
+    /**
+     * Sends the rows of {@code from} to {@code /batch/{action}}.
+     *
+     * @param toInput maps a row to the batch input; an {@link IllegalArgumentException} sends the row to the error file
+     * @param toRecord maps a successful result to the record written to the result file
+     */
+    protected WriteResult write(RunContext runContext, String action,
+                                Function<Map<String, Object>, Map<String, Object>> toInput,
+                                Function<HubspotBatchResponse.Result, Map<String, Object>> toRecord) throws Exception {
+        RetryPolicy retryPolicy = RetryPolicy.of(runContext, getApiRetry());
+        URI uri = URI.create(getBatchURL(action));
+
+        // records changed by this run must no longer be served by Get tasks, on this worker right away
+        String portal = portalKey(runContext);
+        Queue<String> changed = new ConcurrentLinkedQueue<>();
+        Function<HubspotBatchResponse.Result, Map<String, Object>> written = result -> {
+            HubspotRecordCache.getInstance().invalidate(portal, getObjectType(), result.getId());
+            if (!"create".equals(action)) {
+                changed.add(result.getId());
+            }
+            return toRecord.apply(result);
+        };
+
+        Function<Map<String, Object>, Map<String, Object>> validInput = runContext.render(this.validateProperties).as(Boolean.class).orElse(false) ?
+            toInput.andThen(propertyValidator(runContext, this.propertyDefinitionsTtl)) :
+            toInput;
+
+        Flux<BatchInput> inputs = readFrom(runContext)
+            .index()
+            .map(tuple -> BatchInput.of(tuple.getT1(), tuple.getT2(), validInput));
+
+        File resultFile = runContext.workingDir().createTempFile(".ion").toFile();
+        File errorFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        long count;
+
+        try (
+            HubspotClient client = client(runContext);
+            var output = new BufferedWriter(new FileWriter(resultFile), FileSerde.BUFFER_SIZE);
+            var errorOutput = new BufferedWriter(new FileWriter(errorFile), FileSerde.BUFFER_SIZE)
+        ) {
+            Flux<Map<String, Object>> records = processChunks(
+                runContext,
+                inputs,
+                chunk -> writeChunk(runContext, client, uri, retryPolicy, chunk, written)
+            ).handle((outcome, sink) -> {
+                if (outcome.error() == null) {
+                    if (outcome.skipped()) {
+                        skipped.incrementAndGet();
+                    }
+                    sink.next(outcome.record());
+                    return;
+                }
+
+                // outcomes are emitted one at a time, so the error file is never written concurrently
+                try {
+                    errors.addAndGet(FileSerde.writeAll(errorOutput, Flux.just(outcome.error())).block());
+                } catch (Exception e) {
+                    sink.error(e);
+                }
+            });
+
+            count = FileSerde.writeAll(output, records).block();
+        }
+
+        // and on other workers once the write is over
+        evictShared(runContext, portal, changed);
+
+        if (errors.get() > 0) {
+            runContext.logger().warn("{} records could not be written to HubSpot, see the errors file", errors.get());
+        }
+
+        return new WriteResult(
+            count - skipped.get(),
+            skipped.get(),
+            errors.get(),
+            runContext.storage().putFile(resultFile),
+            runContext.storage().putFile(errorFile)
+        );
+    }
+
+    List<Outcome> writeChunk(RunContext runContext, HubspotClient client, URI uri, RetryPolicy retryPolicy,
+                             List<BatchInput> chunk, Function<HubspotBatchResponse.Result, Map<String, Object>> toRecord) throws Exception {
+        List<Outcome> outcomes = new ArrayList<>();
+        List<BatchInput> valid = new ArrayList<>();
+
+        for (BatchInput input : chunk) {
+            if (input.invalid() != null) {
+                outcomes.add(Outcome.failure(input, null, "INVALID_INPUT", input.invalid()));
+            } else {
+                valid.add(input);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            Set<String> unchanged = unchangedTraceIds(runContext, client, valid.stream().map(BatchInput::body).toList());
+
+            List<BatchInput> changed = new ArrayList<>();
+            for (BatchInput input : valid) {
+                if (unchanged.contains(input.traceId())) {
+                    outcomes.add(Outcome.skipped(input));
+                } else {
+                    changed.add(input);
+                }
+            }
+
+            if (!changed.isEmpty()) {
+                outcomes.addAll(send(runContext, client, uri, retryPolicy, changed, 1, toRecord));
+            }
+        }
+
+        outcomes.sort(Comparator.comparingLong(Outcome::index));
+        return outcomes;
+    }
+
+    @Override
+    protected Property<Boolean> sharedCacheEviction() {
+        return this.evictSharedCache;
+    }
+
+    /**
+     * Trace IDs of the inputs of a chunk that would not change anything and are
+     * not sent; they are reported as skipped in the result file. None by default.
+     */
+    protected Set<String> unchangedTraceIds(RunContext runContext, HubspotClient client, List<Map<String, Object>> inputs) throws Exception {
+        return Set.of();
+    }
+
+    private List<Outcome> send(RunContext runContext, HubspotClient client, URI uri, RetryPolicy retryPolicy,
+                               List<BatchInput> inputs, int attempt,
+                               Function<HubspotBatchResponse.Result, Map<String, Object>> toRecord) throws Exception {
+        return handle(runContext, client, uri, retryPolicy, inputs, attempt, toRecord, post(runContext, client, uri, inputs));
+    }
+
+    private List<Outcome> handle(RunContext runContext, HubspotClient client, URI uri, RetryPolicy retryPolicy,
+                                 List<BatchInput> inputs, int attempt,
+                                 Function<HubspotBatchResponse.Result, Map<String, Object>> toRecord, Reply reply) throws Exception {
+        if (reply.rejection() != null) {
+            return rejected(runContext, client, uri, retryPolicy, inputs, attempt, toRecord, reply.rejection());
+        }
+        return settle(runContext, client, uri, retryPolicy, inputs, attempt, toRecord, reply.response());
+    }
+
+    /**
+     * Sends the inputs as one batch. A chunk rejected for its content is
+     * returned as a {@link Rejection}; any other error fails the task.
+     */
+    private Reply post(RunContext runContext, HubspotClient client, URI uri, List<BatchInput> inputs) throws Exception {
+        Map<String, Object> requestBody = Map.of("inputs", inputs.stream().map(BatchInput::body).toList());
+
+        try {
+            return new Reply(client.request(batchRequest(runContext, uri, requestBody).build(), HubspotBatchResponse.class).getBody(), null);
+        } catch (HttpClientResponseException e) {
+            HubspotException failure = cleanHubspotException(e);
+            if (!failure.isInputError()) {
+                throw failure;
+            }
+
+            HubspotErrorResponse error = parseError(e.getMessage());
+            return new Reply(null, new Rejection(failure.getStatusCode(), errorCode(error), failure.getMessage(), unknownProperties(error)));
+        }
+    }
+
+    /**
+     * Splits a rejected chunk in halves until the invalid rows are isolated.
+     * HubSpot messages name the bad value but not the row, so two rows sharing
+     * the same bad value are still told apart from their valid neighbours. Only
+     * when the rejection names unknown properties that every input sets can no
+     * split ever be accepted, and the rows fail without further requests.
+     */
+    private List<Outcome> rejected(RunContext runContext, HubspotClient client, URI uri, RetryPolicy retryPolicy,
+                                   List<BatchInput> inputs, int attempt,
+                                   Function<HubspotBatchResponse.Result, Map<String, Object>> toRecord, Rejection rejection) throws Exception {
+        if (inputs.size() > 1 && !setOnEveryInput(rejection.unknownProperties(), inputs)) {
+            int half = inputs.size() / 2;
+            List<Outcome> outcomes = new ArrayList<>(send(runContext, client, uri, retryPolicy, inputs.subList(0, half), attempt, toRecord));
+            outcomes.addAll(send(runContext, client, uri, retryPolicy, inputs.subList(half, inputs.size()), attempt, toRecord));
+            return outcomes;
+        }
+
+        if (inputs.size() > 1) {
+            runContext.logger().warn("HubSpot rejected a batch of {} records setting an unknown property, failing them all: {}", inputs.size(), rejection.message());
+        }
+        return inputs.stream()
+            .map(input -> Outcome.failure(input, rejection.status(), rejection.code(), rejection.message()))
+            .toList();
+    }
+
+    private static boolean setOnEveryInput(Set<String> properties, List<BatchInput> inputs) {
+        if (properties.isEmpty()) {
+            return false;
+        }
+
+        return inputs.stream().allMatch(input ->
+            input.body().get("properties") instanceof Map<?, ?> map && map.keySet().containsAll(properties)
+        );
+    }
+
+    /**
+     * Properties a rejection reports as unknown, when every error it lists is
+     * {@code PROPERTY_DOESNT_EXIST}; empty otherwise, as any other error may come from a single row.
+     */
+    static Set<String> unknownProperties(HubspotErrorResponse error) {
+        if (error == null || error.getErrors() == null || error.getErrors().isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> properties = new HashSet<>();
+        for (HubspotErrorDetail detail : error.getErrors()) {
+            if (!PROPERTY_DOESNT_EXIST.equals(detail.getCode())) {
+                return Set.of();
+            }
+
+            List<String> names = detail.getContext() == null ? null : detail.getContext().get("propertyName");
+            if (names != null && !names.isEmpty()) {
+                properties.addAll(names);
+                continue;
+            }
+
+            Matcher matcher = UNKNOWN_PROPERTY.matcher(String.valueOf(detail.getMessage()));
+            if (!matcher.find()) {
+                return Set.of();
+            }
+            properties.add(matcher.group(1));
+        }
+        return properties;
+    }
+
+    /**
+     * Maps the results and errors of an accepted batch to the outcome of each
+     * input, retrying the inputs that failed with a transient error.
+     */
+    private List<Outcome> settle(RunContext runContext, HubspotClient client, URI uri, RetryPolicy retryPolicy,
+                                 List<BatchInput> inputs, int attempt,
+                                 Function<HubspotBatchResponse.Result, Map<String, Object>> toRecord,
+                                 HubspotBatchResponse response) throws Exception {
+        Map<String, BatchInput> byTraceId = new HashMap<>();
+        Map<String, BatchInput> byId = new HashMap<>();
+        for (BatchInput input : inputs) {
+            byTraceId.put(input.traceId(), input);
+            if (input.body().get("id") != null) {
+                byId.put(String.valueOf(input.body().get("id")), input);
+            }
+        }
+
+        List<Outcome> outcomes = new ArrayList<>();
+        Set<Long> settled = new HashSet<>();
+        long unmatchedResults = 0;
+
+        if (response != null && response.getResults() != null) {
+            for (HubspotBatchResponse.Result result : response.getResults()) {
+                BatchInput input = result.getObjectWriteTraceId() != null ? byTraceId.get(result.getObjectWriteTraceId()) : byId.get(result.getId());
+                if (input != null) {
+                    settled.add(input.index());
+                    outcomes.add(Outcome.success(input.index(), toRecord.apply(result)));
+                } else {
+                    unmatchedResults++;
+                    outcomes.add(Outcome.success(null, toRecord.apply(result)));
+                }
+            }
+        }
+
+        // items of a create that failed on HubSpot's side may exist already
+        boolean idempotent = RetryPolicy.isIdempotent("POST", uri.getPath());
+        List<BatchInput> retry = new ArrayList<>();
+        List<HubspotBatchResponse.Error> unattributed = new ArrayList<>();
+
+        if (response != null && response.getErrors() != null) {
+            for (HubspotBatchResponse.Error error : response.getErrors()) {
+                List<BatchInput> failed = inputsOf(error, byTraceId, byId);
+                if (failed.isEmpty()) {
+                    unattributed.add(error);
+                    continue;
+                }
+
+                for (BatchInput input : failed) {
+                    if (!settled.add(input.index())) {
+                        continue;
+                    }
+
+                    if (retryPolicy.isRetryable(error.getCategory(), idempotent) && attempt < retryPolicy.getMaxAttempts()) {
+                        retry.add(input);
+                    } else {
+                        outcomes.add(Outcome.failure(input, error));
+                    }
+                }
+            }
+        }
+
+        // inputs HubSpot reported neither as result nor as attributable error
+        for (BatchInput input : inputs) {
+            if (settled.contains(input.index())) {
+                continue;
+            }
+
+            if (unmatchedResults > 0) {
+                // a result without trace ID was returned for it
+                unmatchedResults--;
+            } else if (!unattributed.isEmpty()) {
+                outcomes.add(Outcome.failure(input, unattributed.getFirst()));
+            } else {
+                outcomes.add(Outcome.failure(input, null, "NO_RESULT", "HubSpot returned no result for this record"));
+            }
+        }
+
+        if (!retry.isEmpty()) {
+            Duration delay = retryPolicy.delay(attempt, null);
+            runContext.logger().warn(
+                "{} records of a HubSpot batch failed with a transient error, retrying them in {} ms (attempt {}/{})",
+                retry.size(), delay.toMillis(), attempt + 1, retryPolicy.getMaxAttempts()
+            );
+            Thread.sleep(delay.toMillis());
+
+            outcomes.addAll(send(runContext, client, uri, retryPolicy, retry, attempt + 1, toRecord));
+        }
+
+        return outcomes;
+    }
+
+    /**
+     * Inputs an error of a multi-status response refers to, through the trace IDs
+     * or record IDs HubSpot lists in its context.
+     */
+    private static List<BatchInput> inputsOf(HubspotBatchResponse.Error error, Map<String, BatchInput> byTraceId, Map<String, BatchInput> byId) {
+        if (error.getContext() == null) {
+            return List.of();
+        }
+
+        List<BatchInput> inputs = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : error.getContext().entrySet()) {
+            Map<String, BatchInput> lookup = TRACE_ID.equals(entry.getKey()) ? byTraceId : byId;
+            if (entry.getValue() == null) {
+                continue;
+            }
+
+            for (String value : entry.getValue()) {
+                BatchInput input = lookup.get(value);
+                if (input != null) {
+                    inputs.add(input);
+                }
+            }
+        }
+        return inputs;
+    }
+
+    private static String errorCode(HubspotErrorResponse error) {
+        if (error == null) {
+            return null;
+        }
+        if (error.getErrors() != null) {
+            for (HubspotErrorDetail detail : error.getErrors()) {
+                if (detail.getCode() != null) {
+                    return detail.getCode();
+                }
+            }
+        }
+        return error.getCategory();
+    }
+
+    private record Reply(HubspotBatchResponse response, Rejection rejection) {}
+
+    private record Rejection(int status, String code, String message, Set<String> unknownProperties) {}
+
+    record BatchInput(long index, Object row, Map<String, Object> body, String invalid) {
+
+        @SuppressWarnings("unchecked")
+        static BatchInput of(long index, Object row, Function<Map<String, Object>, Map<String, Object>> toInput) {
+            if (!(row instanceof Map<?, ?> map)) {
+                return new BatchInput(index, row, null, "Row is not an object");
+            }
+
+            try {
+                Map<String, Object> body = new HashMap<>(toInput.apply((Map<String, Object>) map));
+                body.put(TRACE_ID, String.valueOf(index));
+                return new BatchInput(index, row, body, null);
+            } catch (IllegalArgumentException e) {
+                return new BatchInput(index, row, null, e.getMessage());
+            }
+        }
+
+        String traceId() {
+            return String.valueOf(index);
+        }
+    }
+
+    record Outcome(long index, Map<String, Object> record, Map<String, Object> error, boolean skipped) {
+
+        /**
+         * A written record, led by the index of its row in {@code from}, which is also
+         * its {@code objectWriteTraceId}; null for a result that could not be matched to a row.
+         */
+        static Outcome success(Long index, Map<String, Object> written) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("index", index);
+            record.putAll(written);
+            return new Outcome(index == null ? Long.MAX_VALUE : index, record, null, false);
+        }
+
+        static Outcome skipped(BatchInput input) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("index", input.index());
+            record.put("id", input.body().get("id"));
+            record.put("properties", input.body().get("properties"));
+            record.put("skipped", true);
+            return new Outcome(input.index(), record, null, true);
+        }
+
+        static Outcome failure(BatchInput input, Integer status, String code, String message) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("index", input.index());
+            error.put("row", input.row());
+            error.put("status", status);
+            error.put("code", code);
+            error.put("message", message);
+            return new Outcome(input.index(), null, error, false);
+        }
+
+        static Outcome failure(BatchInput input, HubspotBatchResponse.Error error) {
+            String code = null;
+            List<String> messages = new ArrayList<>();
+
+            if (error.getErrors() != null) {
+                for (HubspotBatchResponse.Detail detail : error.getErrors()) {
+                    if (code == null) {
+                        code = detail.getCode();
+                    }
+                    if (detail.getMessage() != null) {
+                        messages.add(cleanDetail(detail.getMessage()));
+                    }
+                }
+            }
+            if (messages.isEmpty() && error.getMessage() != null) {
+                messages.add(cleanDetail(error.getMessage()));
+            }
+
+            return failure(input, null, code != null ? code : error.getCategory(), "HubSpot API error: " + String.join("; ", messages));
+        }
+    }
+
+    protected record WriteResult(long count, long skipped, long errors, URI uri, URI errorsUri) {}
+}
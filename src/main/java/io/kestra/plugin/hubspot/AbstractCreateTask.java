@@ -1,9 +1,11 @@
 package io.kestra.plugin.hubspot;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Map;
 
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -24,6 +26,30 @@ public abstract class AbstractCreateTask extends HubspotConnection {
     @PluginProperty(group = "advanced")
     protected Property<Map<String, Object>> additionalProperties;
 
+    @Schema(
+        title = "Validate properties against the portal's property definitions before sending",
+        description = "If true, unknown and read-only properties, options that are not allowed, and malformed numbers, booleans and dates fail the task without calling the write endpoint. Option labels are replaced by their value, and dates by the format HubSpot expects. Definitions are cached per portal and object type for `propertyDefinitionsTtl`. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Boolean> validateProperties = Property.ofValue(false);
+
+    @Schema(
+        title = "How long property definitions are reused",
+        description = "Definitions used by `validateProperties` are cached per portal and object type for this long. A property missing from them reloads them once before failing, so properties created since are seen right away. Default is 10 minutes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Duration> propertyDefinitionsTtl = Property.ofValue(HubspotPropertySchema.DEFAULT_TTL);
+
+    @Schema(
+        title = "How the created record is returned",
+        description = "`STORE` uploads its properties to internal storage (`uri`), `FETCH_ONE` returns them inline in `row` without any storage round trip, and `NONE` drops them. `FETCH` behaves like `FETCH_ONE`. Default is `STORE`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
     @Getter
     @Builder
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -34,8 +60,14 @@ public abstract class AbstractCreateTask extends HubspotConnection {
 
         @Schema(
             title = "URI of stored properties",
-            description = "Internal storage URI containing the created record properties."
+            description = "Internal storage URI containing the created record properties. Only set when `fetchType` is `STORE`."
         )
         private URI uri;
+
+        @Schema(
+            title = "Record properties",
+            description = "Only set when `fetchType` is `FETCH_ONE` or `FETCH`."
+        )
+        private Map<String, Object> row;
     }
 }
@@ -3,9 +3,13 @@ package io.kestra.plugin.hubspot;
 import java.net.URI;
 
 import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
 
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,6 +23,14 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 public abstract class AbstractDeleteTask extends HubspotConnection {
 
+    @Schema(
+        title = "Drop the records this task changes from the shared Get cache",
+        description = "Get tasks with `cache.shared` keep records in the namespace KV store. Once its changes are made, this task reads a single KV key telling whether records of this object type are shared, and only then deletes the ones it changed. Set to false when no Get task of the namespace shares records, to save that KV read. A KV store error only logs a warning, since the changes are already made in HubSpot. Default is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> evictSharedCache = Property.ofValue(true);
+
     public VoidOutput run(RunContext runContext, String recordId) throws Exception {
 
         URI uri = URI.create(buildHubspotURL() + "/" + recordId);
@@ -30,7 +42,13 @@ public abstract class AbstractDeleteTask extends HubspotConnection {
         getAuthorizedRequest(runContext, requestBuilder);
 
         makeCall(runContext, requestBuilder, VoidOutput.class);
+        evictCached(runContext, recordId);
 
         return null;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected Property<Boolean> sharedCacheEviction() {
+        return this.evictSharedCache;
+    }
+}
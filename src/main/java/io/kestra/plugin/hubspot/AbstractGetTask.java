@@ -1,11 +1,24 @@
 package io.kestra.plugin.hubspot;
 
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
 
 import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -26,13 +39,53 @@ public abstract class AbstractGetTask extends HubspotConnection {
     @PluginProperty(group = "advanced")
     private Property<List<String>> properties;
 
+    @Schema(
+        title = "Unique property the record is looked up by",
+        description = "Optional. When set, the given record ID is matched against this property instead of the HubSpot record ID, e.g. `email` for contacts or a custom unique property, which avoids a search followed by a get."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> idProperty;
+
+    @Schema(
+        title = "How the retrieved record is returned",
+        description = "`STORE` uploads its properties to internal storage (`uri`), `FETCH_ONE` returns them inline in `row` without any storage round trip, and `NONE` drops them. `FETCH` behaves like `FETCH_ONE`. Default is `STORE`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
+    @Schema(
+        title = "Read-through cache of retrieved records",
+        description = "Opt-in. Saves API calls when many runs read the same records within a short time, at the cost of returning values up to `cache.ttl` old."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private RecordCache cache = RecordCache.builder().build();
+
+    @Schema(
+        title = "Fail the task when the record does not exist",
+        description = "If false, a record HubSpot answers 404 for, such as a deleted or merged one, yields an empty output instead of an error. Default is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> errorOnMissing = Property.ofValue(true);
+
     public Output run(RunContext runContext, String recordId) throws Exception {
-        StringBuilder uriBuilder = new StringBuilder(buildHubspotURL() + "/" + recordId);
+        // unique property values such as emails may hold characters that are not valid in a path
+        StringBuilder uriBuilder = new StringBuilder(buildHubspotURL() + "/" + URLEncoder.encode(recordId, StandardCharsets.UTF_8).replace("+", "%20"));
 
         List<String> renderedProperties = runContext.render(properties).asList(String.class);
+        String renderedIdProperty = runContext.render(this.idProperty).as(String.class).orElse(null);
 
+        List<String> query = new ArrayList<>();
         if (renderedProperties != null && !renderedProperties.isEmpty()) {
-            uriBuilder.append("?properties=").append(String.join(",", renderedProperties));
+            query.add("properties=" + String.join(",", renderedProperties));
+        }
+        if (renderedIdProperty != null) {
+            query.add("idProperty=" + URLEncoder.encode(renderedIdProperty, StandardCharsets.UTF_8));
+        }
+        if (!query.isEmpty()) {
+            uriBuilder.append("?").append(String.join("&", query));
         }
 
         URI uri = URI.create(uriBuilder.toString());
@@ -43,28 +96,137 @@ public abstract class AbstractGetTask extends HubspotConnection {
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        HubspotResponse response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        HubspotResponse response;
+        try {
+            // a lookup by unique property is cached apart from the same value used as a record ID
+            String cacheId = renderedIdProperty == null ? recordId : renderedIdProperty + ":" + recordId;
+            response = read(runContext, cacheId, renderedIdProperty == null, renderedProperties, requestBuilder);
+        } catch (HubspotException e) {
+            if (!e.isNotFound() || runContext.render(this.errorOnMissing).as(Boolean.class).orElse(true)) {
+                throw e;
+            }
+
+            runContext.logger().info("HubSpot {} record {} not found", getObjectType(), recordId);
+            runContext.metric(Counter.of("records.notFound", 1));
+            return Output.builder().build();
+        }
 
-        URI fileURI = store(runContext, List.of(response.getProperties()));
+        Fetched fetched = fetch(runContext, this.fetchType, response.getProperties());
 
         return Output.builder()
             .id(response.getId())
-            .uri(fileURI)
+            .uri(fetched.uri())
+            .row(fetched.row())
             .build();
     }
 
+    /**
+     * Sends the GET request, unless {@code cache} is enabled and the record is
+     * found in the worker cache or, when shared, in the namespace KV store. A
+     * record recently answered 404 for fails with the same not-found error.
+     *
+     * Writes delete shared records by record ID, so records looked up by a unique
+     * property ({@code byRecordId} false) are only kept in the worker cache, which
+     * drops them along with the record ID they resolved to. Nor is their absence
+     * cached, since a create or upsert may add a record with that value at any time.
+     */
+    @SuppressWarnings("unchecked")
+    private HubspotResponse read(RunContext runContext, String recordId, boolean byRecordId, List<String> renderedProperties,
+                                 HttpRequest.HttpRequestBuilder requestBuilder) throws Exception {
+        if (cache == null || !runContext.render(cache.getEnabled()).as(Boolean.class).orElse(false)) {
+            return makeCall(runContext, requestBuilder, HubspotResponse.class);
+        }
+
+        String portal = portalKey(runContext);
+        // the same properties asked in another order are the same payload
+        String propertySet = renderedProperties == null ? "" : String.join(",", new TreeSet<>(renderedProperties));
+        Duration ttl = runContext.render(cache.getTtl()).as(Duration.class).orElse(Duration.ofMinutes(5));
+        HubspotRecordCache local = HubspotRecordCache.getInstance();
+
+        if (local.isNotFound(portal, getObjectType(), recordId)) {
+            runContext.metric(Counter.of("cache.hits", 1, "level", "worker"));
+            throw new HubspotException(HubspotException.NOT_FOUND, "HubSpot API error: " + getObjectType() + " record " + recordId + " not found", null);
+        }
+
+        HubspotRecordCache.Entry entry = local.get(portal, getObjectType(), recordId, propertySet);
+        if (entry != null) {
+            runContext.metric(Counter.of("cache.hits", 1, "level", "worker"));
+            return toResponse(entry.id(), entry.properties());
+        }
+
+        KVStore kv = null;
+        String kvKey = sharedRecordKey(portal, recordId);
+        // every property set of the record, so that a write drops them with a single delete
+        Map<String, Object> sharedSets = new HashMap<>();
+        if (byRecordId && runContext.render(cache.getShared()).as(Boolean.class).orElse(false)) {
+            kv = runContext.namespaceKv(runContext.flowInfo().namespace());
+
+            if (kvValue(kv, kvKey).orElse(null) instanceof Map<?, ?> sets) {
+                sharedSets.putAll((Map<String, Object>) sets);
+            }
+            if (sharedSets.get(propertySet) instanceof Map<?, ?> value) {
+                Long id = value.get("id") == null ? null : Long.valueOf(String.valueOf(value.get("id")));
+                Map<String, Object> properties = (Map<String, Object>) value.get("properties");
+
+                local.put(portal, getObjectType(), recordId, propertySet, id, properties, ttl);
+                runContext.metric(Counter.of("cache.hits", 1, "level", "kv"));
+                return toResponse(id, properties);
+            }
+        }
+
+        runContext.metric(Counter.of("cache.misses", 1));
+        HubspotResponse response;
+        try {
+            response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        } catch (HubspotException e) {
+            Duration notFoundTtl = runContext.render(cache.getNotFoundTtl()).as(Duration.class).orElse(Duration.ZERO);
+            if (e.isNotFound() && byRecordId && notFoundTtl.isPositive()) {
+                local.putNotFound(portal, getObjectType(), recordId, notFoundTtl);
+            }
+            throw e;
+        }
+
+        local.put(portal, getObjectType(), recordId, propertySet, response.getId(), response.getProperties(), ttl);
+        if (kv != null) {
+            Map<String, Object> value = new HashMap<>();
+            value.put("id", response.getId());
+            value.put("properties", response.getProperties());
+            sharedSets.put(propertySet, value);
+
+            // the marker is renewed first, so it never expires before a record writes would have to drop
+            kv.put(sharedRecordsMarker(portal), new KVValueAndMetadata(new KVMetadata("HubSpot records are shared", ttl), true));
+            kv.put(kvKey, new KVValueAndMetadata(new KVMetadata("Cached HubSpot record", ttl), sharedSets));
+        }
+
+        return response;
+    }
+
+    private static HubspotResponse toResponse(Long id, Map<String, Object> properties) {
+        HubspotResponse response = new HubspotResponse();
+        response.setId(id);
+        response.setProperties(properties);
+        return response;
+    }
+
     @Getter
     @Builder
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
-            title = "Record ID"
+            title = "Record ID",
+            description = "Not set when the record does not exist and `errorOnMissing` is false."
         )
         private Long id;
 
         @Schema(
             title = "URI of stored properties",
-            description = "Internal storage URI containing the retrieved record properties."
+            description = "Internal storage URI containing the retrieved record properties. Only set when `fetchType` is `STORE`."
         )
         private URI uri;
+
+        @Schema(
+            title = "Record properties",
+            description = "Only set when `fetchType` is `FETCH_ONE` or `FETCH`."
+        )
+        private Map<String, Object> row;
     }
 }
@@ -1,13 +1,33 @@
 package io.kestra.plugin.hubspot;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 
 import io.kestra.core.http.HttpRequest;
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -21,6 +41,15 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 public abstract class AbstractSearchTask extends HubspotConnection {
 
+    private static final SearchPageReader PAGE_READER = new SearchPageReader(mapper);
+
+    // HubSpot's search endpoint refuses to page beyond this many results for a single query
+    public static final int SEARCH_WINDOW_LIMIT = 10_000;
+    public static final String OBJECT_ID_PROPERTY = "hs_object_id";
+
+    // incremental searches leave out the most recent changes, which the search index may not reflect yet
+    public static final Duration SEARCH_INDEX_LAG = Duration.ofMinutes(1);
+
     @Schema(
         title = "Search default text properties",
         description = "Full-text query across default text properties for the target object. See [HubSpot search docs](https://developers.hubspot.com/docs/api/crm/search) for query semantics."
@@ -69,7 +98,82 @@ public abstract class AbstractSearchTask extends HubspotConnection {
     @PluginProperty(group = "execution")
     private Property<Boolean> fetchAllPages = Property.ofValue(false);
 
+    @Schema(
+        title = "Pagination strategy used with `fetchAllPages`",
+        description = "`CURSOR` follows HubSpot's `after` cursor and stops at the 10,000 results HubSpot allows per search. " +
+            "`KEYSET` sorts by `hs_object_id` and, each time that window is about to fill up, restarts the search with an `hs_object_id` greater than the last record seen added to every filter group, so result sets of any size can be exported. " +
+            "`KEYSET` replaces `sorts`. Default is `CURSOR`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Pagination> pagination = Property.ofValue(Pagination.CURSOR);
+
+    @Schema(
+        title = "Maximum number of fetched pages waiting to be written",
+        description = "When paging, the next page is requested while previous pages are written to internal storage. This bounds how many pages are held in memory at once. Default is 2."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxPagesInFlight = Property.ofValue(2);
+
+    @Schema(
+        title = "Number of ranges to split the search into",
+        description = "With `fetchAllPages`, splits the query into this many disjoint ranges of `shardProperty` and fetches them concurrently, then merges them into one output file in range order. " +
+            "Split points divide the range between the lowest and highest value evenly, and the number of ranges is capped so that each range holds at least one page according to the search `total`. " +
+            "Each range adds two filters to every filter group and is read with `KEYSET` pagination, so a range is never cut short at HubSpot's 10,000 results limit. Default is 1 (no sharding)."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> shards = Property.ofValue(1);
+
+    @Schema(
+        title = "Property used to split the search into ranges",
+        description = "`HS_OBJECT_ID` and `CREATEDATE` never change once a record exists; with `LASTMODIFIEDDATE`, a record modified during the export may move between ranges. Default is `HS_OBJECT_ID`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<ShardProperty> shardProperty = Property.ofValue(ShardProperty.HS_OBJECT_ID);
+
+    @Schema(
+        title = "Maximum number of ranges fetched at the same time",
+        description = "All ranges share the same rate limiter. Default is 4."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> shardConcurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Only fetch records modified since the previous run",
+        description = "Stores a high-water mark (last modification date, with `hs_object_id` as tie-breaker) in the namespace KV store and adds it as a filter to every filter group on the next run. " +
+            "Requires `fetchAllPages`, `KEYSET` pagination and a `fetchType` of `STORE` or `FETCH`, and cannot be combined with `after`, since the mark is only correct once every matching record has been returned. " +
+            "Records modified less than a minute before the run starts are left for the next run. The mark only advances once the output has been stored, so a failed run is fetched again. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> incremental = Property.ofValue(false);
+
+    @Schema(
+        title = "KV store key holding the incremental high-water mark",
+        description = "Defaults to a key derived from the flow ID, the task ID and the object type."
+    )
+    @PluginProperty(group = "execution")
+    private Property<String> stateKey;
+
+    @Schema(
+        title = "How search results are returned",
+        description = "`STORE` writes them to an internal storage file (`uri`). `FETCH` returns them inline in `rows` and `FETCH_ONE` returns only the first one in `row`, both without any temp file or storage upload, which suits small lookups. `NONE` only returns `total` and the `after` cursor. Default is `STORE`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
     public Output run(RunContext runContext) throws Exception {
+        try (HubspotClient client = client(runContext)) {
+            return run(runContext, client);
+        }
+    }
+
+    Output run(RunContext runContext, HubspotClient client) throws Exception {
         Logger logger = runContext.logger();
 
         Map<String, Object> requestBody = new HashMap<>();
@@ -94,8 +198,320 @@ public abstract class AbstractSearchTask extends HubspotConnection {
 
         URI uri = URI.create(buildHubspotURL() + "/search");
 
-        String requestBodyString = mapper.writeValueAsString(requestBody);
+        PagingMode mode = new PagingMode(
+            runContext.render(this.fetchAllPages).as(Boolean.class).orElse(false),
+            runContext.render(this.pagination).as(Pagination.class).orElse(Pagination.CURSOR) == Pagination.KEYSET,
+            runContext.render(this.limit).as(Integer.class).orElse(10),
+            runContext.render(this.maxPagesInFlight).as(Integer.class).orElse(2)
+        );
+
+        if (mode.keyset()) {
+            requestBody.put("sorts", List.of(Map.of("propertyName", OBJECT_ID_PROPERTY, "direction", "ASCENDING")));
+        }
+
+        List<Map<String, Object>> userFilterGroups = castFilterGroups(requestBody.get("filterGroups"));
+        int shardCount = runContext.render(this.shards).as(Integer.class).orElse(1);
+
+        KVStore kvStore = null;
+        String watermarkKey = null;
+        SearchWatermark watermark = null;
+
+        FetchType renderedFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.STORE);
+
+        if (runContext.render(this.incremental).as(Boolean.class).orElse(false)) {
+            // the mark is the latest change among the records returned: a record left out would never be fetched again
+            if (!mode.fetchAll() || !mode.keyset() || (renderedFetchType != FetchType.STORE && renderedFetchType != FetchType.FETCH)) {
+                throw new IllegalArgumentException("`incremental` requires `fetchAllPages: true`, `pagination: KEYSET` and `fetchType: STORE` or `FETCH` so that every matching record is returned before the high-water mark advances");
+            }
+            if (renderedAfter.isPresent()) {
+                throw new IllegalArgumentException("`incremental` cannot be combined with `after`, the records before that cursor would be skipped");
+            }
+
+            kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+            watermarkKey = runContext.render(this.stateKey).as(String.class).orElse(defaultStateKey(runContext));
+            watermark = SearchWatermark.from(getLastModifiedProperty(), kvStore.getValue(watermarkKey).map(KVValue::value).orElse(null));
+
+            // a record modified while the search runs moves past this bound instead of past the mark
+            List<Map<String, Object>> window = new ArrayList<>();
+            window.add(Map.of(
+                "propertyName", getLastModifiedProperty(),
+                "operator", "LT",
+                "value", String.valueOf(Instant.now().minus(SEARCH_INDEX_LAG).toEpochMilli())
+            ));
+
+            if (watermark.getStartModifiedAt() != null) {
+                window.add(Map.of(
+                    "propertyName", getLastModifiedProperty(),
+                    "operator", "GTE",
+                    "value", String.valueOf(watermark.getStartModifiedAt())
+                ));
+                logger.info("Fetching records modified since {}", Instant.ofEpochMilli(watermark.getStartModifiedAt()));
+            }
+
+            userFilterGroups = withFilters(userFilterGroups, window);
+            requestBody.put("filterGroups", userFilterGroups);
+
+            // the mark is computed from the returned records, so its properties must be part of the response
+            if (requestBody.get("properties") instanceof List<?> requested && !requested.isEmpty()) {
+                Set<Object> withWatermark = new LinkedHashSet<>(requested);
+                withWatermark.add(getLastModifiedProperty());
+                withWatermark.add(OBJECT_ID_PROPERTY);
+                requestBody.put("properties", new ArrayList<>(withWatermark));
+            }
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        URI fileURI = null;
+        Searched searched;
 
+        if (mode.fetchAll() && shardCount > 1) {
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            searched = new Searched(searchSharded(runContext, client, uri, requestBody, userFilterGroups, mode, shardCount, watermark, tempFile), null);
+
+            if (renderedFetchType == FetchType.STORE) {
+                fileURI = runContext.storage().putFile(tempFile);
+            } else if (renderedFetchType != FetchType.NONE) {
+                rows = readRows(tempFile, renderedFetchType == FetchType.FETCH_ONE ? 1 : Long.MAX_VALUE);
+            }
+        } else if (renderedFetchType == FetchType.STORE) {
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            searched = searchToFile(runContext, client, uri, requestBody, userFilterGroups, mode, watermark, tempFile);
+            fileURI = runContext.storage().putFile(tempFile);
+        } else {
+            // small result sets are kept in memory, nothing touches the working directory or internal storage
+            List<Map<String, Object>> collected = rows;
+            long[] count = {0};
+
+            String lastAfter = paginate(runContext, client, uri, requestBody, userFilterGroups, mode, watermark, page -> {
+                count[0] += page.size();
+                if (renderedFetchType == FetchType.FETCH) {
+                    collected.addAll(page);
+                } else if (renderedFetchType == FetchType.FETCH_ONE && collected.isEmpty() && !page.isEmpty()) {
+                    collected.add(page.getFirst());
+                }
+            });
+            searched = new Searched(count[0], lastAfter);
+        }
+
+        long total = searched.count();
+
+        logger.info("Retrieved {} records", total);
+
+        // only a fully read result advances the mark
+        if (watermark != null && watermark.hasAdvanced() && searched.after() == null) {
+            kvStore.put(watermarkKey, new KVValueAndMetadata(new KVMetadata("HubSpot incremental search high-water mark", (Duration) null), watermark.toValue()));
+            logger.info("Advanced high-water mark to {}", Instant.ofEpochMilli(watermark.getModifiedAt()));
+        }
+
+        return Output.builder()
+            .total(Math.toIntExact(total))
+            .uri(fileURI)
+            .rows(renderedFetchType == FetchType.FETCH ? rows : null)
+            .row(renderedFetchType == FetchType.FETCH_ONE && !rows.isEmpty() ? rows.getFirst() : null)
+            .after(searched.after())
+            .build();
+    }
+
+    private Searched searchToFile(RunContext runContext, HubspotClient client, URI uri, Map<String, Object> requestBody,
+                                  List<Map<String, Object>> baseFilterGroups, PagingMode mode, SearchWatermark watermark, File file) throws Exception {
+        // each page is appended to the file as soon as it arrives, at most maxInFlight pages are kept in memory
+        try (
+            var output = new BufferedWriter(new FileWriter(file), FileSerde.BUFFER_SIZE);
+            PageWriter pageWriter = new PageWriter(output, mode.maxInFlight())
+        ) {
+            String lastAfter = paginate(runContext, client, uri, requestBody, baseFilterGroups, mode, watermark, pageWriter::submit);
+            return new Searched(pageWriter.finish(), lastAfter);
+        }
+    }
+
+    /**
+     * Sends the search page after page and hands each page to {@code sink};
+     * returns the cursor of the page following the last one fetched, if any.
+     */
+    private String paginate(RunContext runContext, HubspotClient client, URI uri, Map<String, Object> requestBody,
+                            List<Map<String, Object>> baseFilterGroups, PagingMode mode, SearchWatermark watermark,
+                            PageSink sink) throws Exception {
+        Logger logger = runContext.logger();
+
+        String nextAfter = null;
+        boolean firstPage = true;
+        long windowCount = 0;
+        boolean hasMore;
+
+        do {
+            if (nextAfter != null) {
+                requestBody.put("after", nextAfter);
+            }
+
+            String requestBodyString = mapper.writeValueAsString(requestBody);
+
+            if (firstPage) {
+                logger.info("Sending request to {} with payload {}", uri, requestBodyString);
+                firstPage = false;
+            } else {
+                logger.info("Next page request body: {}", requestBodyString);
+            }
+
+            byte[] body = post(runContext, client, uri, requestBodyString);
+
+            List<Map<String, Object>> records = new ArrayList<>();
+            SearchPageReader.Page page = PAGE_READER.read(body, records::add);
+
+            if (watermark != null) {
+                records.removeIf(r -> !watermark.isNew(r));
+                records.forEach(watermark::observe);
+            }
+
+            // when storing, the page is serialized in the background while the next one is requested
+            sink.accept(records);
+
+            nextAfter = page.getAfter();
+            hasMore = nextAfter != null;
+            windowCount += page.getCount();
+
+            if (mode.keyset() && hasMore && page.getLastId() != null && windowCount + mode.pageSize() > SEARCH_WINDOW_LIMIT) {
+                // the next page would cross the search window: start a new query past the last id seen
+                requestBody.remove("after");
+                requestBody.put("filterGroups", withObjectIdAfter(baseFilterGroups, page.getLastId()));
+                logger.debug("Search window full, restarting after {} {}", OBJECT_ID_PROPERTY, page.getLastId());
+
+                windowCount = 0;
+                nextAfter = null;
+            }
+        } while (mode.fetchAll() && hasMore);
+
+        return nextAfter;
+    }
+
+    private long searchSharded(RunContext runContext, HubspotClient client, URI uri, Map<String, Object> requestBody,
+                               List<Map<String, Object>> userFilterGroups, PagingMode mode, int shardCount,
+                               SearchWatermark watermark, File file) throws Exception {
+        Logger logger = runContext.logger();
+
+        String property = switch (runContext.render(this.shardProperty).as(ShardProperty.class).orElse(ShardProperty.HS_OBJECT_ID)) {
+            case HS_OBJECT_ID -> OBJECT_ID_PROPERTY;
+            case CREATEDATE -> "createdate";
+            case LASTMODIFIEDDATE -> getLastModifiedProperty();
+        };
+
+        Bound lowest = bound(runContext, client, uri, requestBody, property, "ASCENDING");
+        if (lowest == null) {
+            return 0;
+        }
+        Bound highest = bound(runContext, client, uri, requestBody, property, "DESCENDING");
+
+        long min = lowest.value();
+        long max = highest != null ? highest.value() : min;
+        List<Range> ranges = shardRanges(min, max, lowest.total(), mode.pageSize(), shardCount);
+
+        // a range holding more than the search window would be cut short with cursor paging
+        PagingMode shardMode = new PagingMode(true, true, mode.pageSize(), mode.maxInFlight());
+
+        int concurrency = Math.max(1, runContext.render(this.shardConcurrency).as(Integer.class).orElse(4));
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+
+        List<File> shardFiles = new ArrayList<>();
+        List<Future<Searched>> futures = new ArrayList<>();
+
+        try {
+            for (Range range : ranges) {
+                // GTE / LT bounds make neighbour ranges disjoint, so no record is exported twice
+                List<Map<String, Object>> shardGroups = withFilters(userFilterGroups, List.of(
+                    Map.of("propertyName", property, "operator", "GTE", "value", String.valueOf(range.from())),
+                    Map.of("propertyName", property, "operator", "LT", "value", String.valueOf(range.to()))
+                ));
+
+                Map<String, Object> shardBody = new HashMap<>(requestBody);
+                shardBody.remove("after");
+                shardBody.put("filterGroups", shardGroups);
+                shardBody.put("sorts", List.of(Map.of("propertyName", OBJECT_ID_PROPERTY, "direction", "ASCENDING")));
+
+                File shardFile = runContext.workingDir().createTempFile(".ion").toFile();
+                shardFiles.add(shardFile);
+
+                logger.debug("Searching shard {} <= {} < {}", range.from(), property, range.to());
+                futures.add(executor.submit(() -> searchToFile(runContext, client, uri, shardBody, shardGroups, shardMode, watermark, shardFile)));
+            }
+
+            long total = 0;
+            for (Future<Searched> future : futures) {
+                total += future.get().count();
+            }
+
+            concat(shardFiles, file);
+
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits {@code [min, max]} into at most {@code shardCount} contiguous
+     * ranges of equal width, fewer when {@code total} does not fill one page
+     * per range. Each range is {@code [from, to)} and the last one ends past
+     * {@code max}.
+     */
+    static List<Range> shardRanges(long min, long max, long total, int pageSize, int shardCount) {
+        long pagesNeeded = Math.max(1, (total + pageSize - 1) / pageSize);
+        int effectiveShards = (int) Math.max(1, Math.min(shardCount, pagesNeeded));
+        long step = Math.max(1, (max - min + effectiveShards) / effectiveShards);
+
+        List<Range> ranges = new ArrayList<>();
+        for (long from = min; from <= max; from += step) {
+            ranges.add(new Range(from, Math.min(from + step, max + 1)));
+        }
+        return ranges;
+    }
+
+    /**
+     * Appends the shard files to {@code target} in range order and deletes them.
+     */
+    static void concat(List<File> parts, File target) throws IOException {
+        try (OutputStream output = new FileOutputStream(target)) {
+            for (File part : parts) {
+                Files.copy(part.toPath(), output);
+                Files.delete(part.toPath());
+            }
+        }
+    }
+
+    /**
+     * Fetches the first record of the search sorted on {@code property}, returning its value and the search total.
+     */
+    private Bound bound(RunContext runContext, HubspotClient client, URI uri, Map<String, Object> requestBody,
+                        String property, String direction) throws Exception {
+        Map<String, Object> boundBody = new HashMap<>(requestBody);
+        boundBody.remove("after");
+        boundBody.put("limit", 1);
+        boundBody.put("properties", List.of(property));
+        boundBody.put("sorts", List.of(Map.of("propertyName", property, "direction", direction)));
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        SearchPageReader.Page page = PAGE_READER.read(post(runContext, client, uri, mapper.writeValueAsString(boundBody)), records::add);
+
+        Long value = records.isEmpty() ? null : SearchWatermark.toEpochMillis(records.getFirst().get(property));
+        if (value == null) {
+            return null;
+        }
+
+        return new Bound(value, page.getTotal() != null ? page.getTotal() : page.getCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> readRows(File file, long max) throws Exception {
+        try (var reader = new BufferedReader(new FileReader(file), FileSerde.BUFFER_SIZE)) {
+            return FileSerde.readAll(reader)
+                .take(max)
+                .map(row -> (Map<String, Object>) row)
+                .collectList()
+                .block();
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    private byte[] post(RunContext runContext, HubspotClient client, URI uri, String requestBodyString) throws Exception {
         HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
             .uri(uri)
             .addHeader("Content-Type", JSON_CONTENT_TYPE)
@@ -104,50 +520,89 @@ public abstract class AbstractSearchTask extends HubspotConnection {
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        logger.info("Sending request to {} with payload {}", uri, requestBodyString);
+        return makeCall(client, requestBuilder, byte[].class);
+    }
 
-        HubspotSearchResponse response = makeCall(runContext, requestBuilder, HubspotSearchResponse.class);
+    private String defaultStateKey(RunContext runContext) {
+        String objectType = getEndpoint().substring(getEndpoint().lastIndexOf('/') + 1);
+        String key = "hubspot_" + runContext.flowInfo().id() + "_" + getId() + "_" + objectType + "_watermark";
+        return key.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
 
-        List<Map<String, Object>> allResults = new ArrayList<>();
-        for (HubspotSearchResponse.Result result : response.getResults()) {
-            allResults.add(result.getProperties());
-        }
+    /**
+     * Name of the last modification date property of the searched object.
+     */
+    protected String getLastModifiedProperty() {
+        return "hs_lastmodifieddate";
+    }
 
-        Map<String, Object> nextPageToken = response.getPaging() != null ? response.getPaging().getNext() : null;
+    /**
+     * Adds {@code hs_object_id > lastId} to every filter group.
+     */
+    static List<Map<String, Object>> withObjectIdAfter(List<Map<String, Object>> filterGroups, String lastId) {
+        return withFilters(filterGroups, List.of(Map.of(
+            "propertyName", OBJECT_ID_PROPERTY,
+            "operator", "GT",
+            "value", lastId
+        )));
+    }
 
-        boolean shouldFetchAll = runContext.render(this.fetchAllPages).as(Boolean.class).orElse(false);
+    /**
+     * Adds the given filters to every filter group. HubSpot ORs the groups
+     * together and ANDs the filters inside a group, so appending the filters to
+     * each group restricts the whole query.
+     */
+    static List<Map<String, Object>> withFilters(List<Map<String, Object>> filterGroups, List<Map<String, Object>> extraFilters) {
+        if (filterGroups == null || filterGroups.isEmpty()) {
+            return List.of(Map.of("filters", extraFilters));
+        }
 
-        while (shouldFetchAll && nextPageToken != null) {
-            requestBody.put("after", nextPageToken.get("after"));
-            requestBodyString = mapper.writeValueAsString(requestBody);
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> group : filterGroups) {
+            List<Object> filters = new ArrayList<>();
+            if (group.get("filters") instanceof List<?> existing) {
+                filters.addAll(existing);
+            }
+            filters.addAll(extraFilters);
 
-            requestBuilder = HttpRequest.builder()
-                .uri(uri)
-                .addHeader("Content-Type", JSON_CONTENT_TYPE)
-                .method("POST")
-                .body(HttpRequest.StringRequestBody.builder().content(requestBodyString).build());
+            Map<String, Object> merged = new HashMap<>(group);
+            merged.put("filters", filters);
+            result.add(merged);
+        }
+        return result;
+    }
 
-            getAuthorizedRequest(runContext, requestBuilder);
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> castFilterGroups(Object filterGroups) {
+        return filterGroups instanceof List<?> list ? (List<Map<String, Object>>) list : null;
+    }
 
-            logger.info("Next page request body: {}", requestBodyString);
+    public enum Pagination {
+        CURSOR,
+        KEYSET
+    }
 
-            response = makeCall(runContext, requestBuilder, HubspotSearchResponse.class);
+    public enum ShardProperty {
+        HS_OBJECT_ID,
+        CREATEDATE,
+        LASTMODIFIEDDATE
+    }
 
-            for (HubspotSearchResponse.Result result : response.getResults()) {
-                allResults.add(result.getProperties());
-            }
+    private record PagingMode(boolean fetchAll, boolean keyset, int pageSize, int maxInFlight) {
+    }
 
-            nextPageToken = response.getPaging() != null ? response.getPaging().getNext() : null;
-        }
+    private record Bound(long value, long total) {
+    }
 
-        URI fileURI = store(runContext, allResults);
+    record Range(long from, long to) {
+    }
 
-        logger.info("Retrieved {} records", allResults.size());
+    private record Searched(long count, String after) {
+    }
 
-        return Output.builder()
-            .total(allResults.size())
-            .uri(fileURI)
-            .build();
+    @FunctionalInterface
+    private interface PageSink {
+        void accept(List<Map<String, Object>> page) throws Exception;
     }
 
     @Getter
@@ -160,8 +615,26 @@ public abstract class AbstractSearchTask extends HubspotConnection {
 
         @Schema(
             title = "URI of stored results",
-            description = "Internal storage URI containing the aggregated search results."
+            description = "Internal storage URI containing the aggregated search results. Only set when `fetchType` is `STORE`."
         )
         private URI uri;
+
+        @Schema(
+            title = "Search results",
+            description = "Only set when `fetchType` is `FETCH`."
+        )
+        private List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "First search result",
+            description = "Only set when `fetchType` is `FETCH_ONE`."
+        )
+        private Map<String, Object> row;
+
+        @Schema(
+            title = "Cursor of the next page",
+            description = "Pass it as `after` to continue the search where this run stopped; empty once every page has been read. Not set for sharded searches."
+        )
+        private String after;
     }
 }
@@ -1,9 +1,22 @@
 package io.kestra.plugin.hubspot;
 
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -17,6 +30,8 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 public abstract class AbstractUpdateTask extends HubspotConnection {
 
+    private static final TypeReference<Map<String, Object>> REQUEST_TYPE = new TypeReference<>() {};
+
     @Schema(
         title = "Additional HubSpot properties",
         description = "Optional key-value map merged into the PATCH body. Property names must match HubSpot field keys."
@@ -24,6 +39,139 @@ public abstract class AbstractUpdateTask extends HubspotConnection {
     @PluginProperty(group = "advanced")
     protected Property<Map<String, Object>> additionalProperties;
 
+    @Schema(
+        title = "Validate properties against the portal's property definitions before sending",
+        description = "If true, unknown and read-only properties, options that are not allowed, and malformed numbers, booleans and dates fail the task without calling the write endpoint. Option labels are replaced by their value, and dates by the format HubSpot expects. Definitions are cached per portal and object type for `propertyDefinitionsTtl`. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Boolean> validateProperties = Property.ofValue(false);
+
+    @Schema(
+        title = "How long property definitions are reused",
+        description = "Definitions used by `validateProperties` are cached per portal and object type for this long. A property missing from them reloads them once before failing, so properties created since are seen right away. Default is 10 minutes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Duration> propertyDefinitionsTtl = Property.ofValue(HubspotPropertySchema.DEFAULT_TTL);
+
+    @Schema(
+        title = "Drop the records this task changes from the shared Get cache",
+        description = "Get tasks with `cache.shared` keep records in the namespace KV store. Once its changes are made, this task reads a single KV key telling whether records of this object type are shared, and only then deletes the ones it changed. Set to false when no Get task of the namespace shares records, to save that KV read. A KV store error only logs a warning, since the changes are already made in HubSpot. Default is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Boolean> evictSharedCache = Property.ofValue(true);
+
+    @Schema(
+        title = "How the updated record is returned",
+        description = "`STORE` uploads its properties to internal storage (`uri`), `FETCH_ONE` returns them inline in `row` without any storage round trip, and `NONE` drops them. `FETCH` behaves like `FETCH_ONE`. Default is `STORE`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
+    @Schema(
+        title = "Skip the update when the record already holds these values",
+        description = "If true, nothing is written and no file is stored when every property sent already has the same value; the output is then flagged as `skipped`. " +
+            "With the default `changeDetection: CURRENT_VALUES` every update first reads the record, so a run costs two API calls instead of one whenever the record did change: only enable it when most updates are expected to change nothing, or use `LAST_WRITTEN`. " +
+            "Numbers and booleans are compared by value when given as such, dates given as ISO-8601 are compared as instants, and any other text is compared as is. Updates that change associations are always sent. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> skipIfUnchanged = Property.ofValue(false);
+
+    @Schema(
+        title = "How unchanged values are detected",
+        description = "`CURRENT_VALUES` reads the record's current values with one GET before writing, which adds an API call to every update but sees changes made in HubSpot. `LAST_WRITTEN` compares with a fingerprint of the values this task last wrote for the record, kept in the namespace KV store, which saves the read but does not see changes made outside of Kestra. Default is `CURRENT_VALUES`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<ChangeDetection> changeDetection = Property.ofValue(ChangeDetection.CURRENT_VALUES);
+
+    /**
+     * Whether {@code skipIfUnchanged} is set and the record already holds every
+     * property of {@code request}, in which case the PATCH can be skipped.
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean isUnchanged(RunContext runContext, String recordId, Object request) throws Exception {
+        if (!runContext.render(this.skipIfUnchanged).as(Boolean.class).orElse(false)) {
+            return false;
+        }
+
+        Map<String, Object> body = mapper.convertValue(request, REQUEST_TYPE);
+        if (body.get("associations") instanceof Collection<?> associations && !associations.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Object> properties = body.get("properties") instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+
+        boolean unchanged = switch (runContext.render(this.changeDetection).as(ChangeDetection.class).orElse(ChangeDetection.CURRENT_VALUES)) {
+            case CURRENT_VALUES -> PropertyDiff.unchanged(properties, currentProperties(runContext, recordId, properties));
+            case LAST_WRITTEN -> runContext.namespaceKv(runContext.flowInfo().namespace())
+                .getValue(fingerprintKey(runContext, recordId))
+                .map(KVValue::value)
+                .map(PropertyDiff.fingerprint(properties)::equals)
+                .orElse(false);
+        };
+
+        if (unchanged) {
+            runContext.metric(Counter.of("records.skipped", 1));
+        }
+        return unchanged;
+    }
+
+    /**
+     * Counts the record as written once HubSpot accepted it and records the
+     * values, for later {@code LAST_WRITTEN} comparisons.
+     */
+    @SuppressWarnings("unchecked")
+    protected void rememberWritten(RunContext runContext, String recordId, Object request) throws Exception {
+        if (!runContext.render(this.skipIfUnchanged).as(Boolean.class).orElse(false)) {
+            return;
+        }
+
+        runContext.metric(Counter.of("records.written", 1));
+        if (runContext.render(this.changeDetection).as(ChangeDetection.class).orElse(ChangeDetection.CURRENT_VALUES) != ChangeDetection.LAST_WRITTEN) {
+            return;
+        }
+
+        Map<String, Object> body = mapper.convertValue(request, REQUEST_TYPE);
+        Map<String, Object> properties = body.get("properties") instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+
+        runContext.namespaceKv(runContext.flowInfo().namespace()).put(
+            fingerprintKey(runContext, recordId),
+            new KVValueAndMetadata(new KVMetadata("Fingerprint of the HubSpot properties last written", (Duration) null), PropertyDiff.fingerprint(properties))
+        );
+    }
+
+    private Map<String, Object> currentProperties(RunContext runContext, String recordId, Map<String, Object> properties) throws Exception {
+        String names = URLEncoder.encode(String.join(",", properties.keySet()), StandardCharsets.UTF_8);
+
+        HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
+            .uri(URI.create(buildHubspotURL() + "/" + recordId + "?properties=" + names))
+            .method("GET");
+
+        getAuthorizedRequest(runContext, requestBuilder);
+
+        return makeCall(runContext, requestBuilder, HubspotResponse.class).getProperties();
+    }
+
+    private String fingerprintKey(RunContext runContext, String recordId) throws Exception {
+        // the credential identifies the portal; hashed so neither it nor the ID leaks into the key
+        return "hubspot_written_" + hash(renderToken(runContext) + getEndpoint() + "/" + recordId);
+    }
+
+    public enum ChangeDetection {
+        CURRENT_VALUES,
+        LAST_WRITTEN
+    }
+
+    @Override
+    protected Property<Boolean> sharedCacheEviction() {
+        return this.evictSharedCache;
+    }
+
     @Getter
     @Builder
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -34,8 +182,20 @@ public abstract class AbstractUpdateTask extends HubspotConnection {
 
         @Schema(
             title = "URI of stored properties",
-            description = "Internal storage URI containing the updated record properties."
+            description = "Internal storage URI containing the updated record properties. Only set when `fetchType` is `STORE` and the update was not skipped."
         )
         private URI uri;
+
+        @Schema(
+            title = "Record properties",
+            description = "Only set when `fetchType` is `FETCH_ONE` or `FETCH`."
+        )
+        private Map<String, Object> row;
+
+        @Schema(
+            title = "Whether the update was skipped",
+            description = "True when `skipIfUnchanged` found nothing to change."
+        )
+        private Boolean skipped;
     }
 }
@@ -0,0 +1,57 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class ApiRetry {
+
+    @Schema(
+        title = "Maximum number of attempts per request",
+        description = "Includes the first attempt; set to 1 to disable retries. Default is 5."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxAttempts = Property.ofValue(5);
+
+    @Schema(
+        title = "Delay before the first retry",
+        description = "Doubled on every following attempt. Default is 1 second."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> baseDelay = Property.ofValue(Duration.ofSeconds(1));
+
+    @Schema(
+        title = "Upper bound of a single backoff delay",
+        description = "Default is 30 seconds. A longer `Retry-After` sent by HubSpot still wins."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxDelay = Property.ofValue(Duration.ofSeconds(30));
+
+    @Schema(
+        title = "Random jitter applied to each delay",
+        description = "Fraction of the delay added or removed at random, between 0 and 1. Default is 0.2."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Double> jitter = Property.ofValue(0.2);
+
+    @Schema(
+        title = "Maximum time spent retrying a single request",
+        description = "A request is not retried once the next delay would exceed this budget. Default is 5 minutes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(5));
+}
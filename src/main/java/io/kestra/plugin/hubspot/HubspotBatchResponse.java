@@ -0,0 +1,48 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HubspotBatchResponse {
+    private String status;
+    private List<Result> results;
+    private Integer numErrors;
+    private List<Error> errors;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Result {
+        private String id;
+        private Map<String, Object> properties;
+        private String objectWriteTraceId;
+
+        // only set by upsert: true when the record did not exist yet
+        @JsonProperty("new")
+        private Boolean created;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Error {
+        private String status;
+        private String category;
+        private String subCategory;
+        private String message;
+        private Map<String, List<String>> context;
+        private List<Detail> errors;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Detail {
+        private String message;
+        private String code;
+    }
+}
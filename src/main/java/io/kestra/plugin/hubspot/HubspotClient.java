@@ -0,0 +1,200 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.HttpResponse;
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.HttpClientException;
+import io.kestra.core.http.client.HttpClientRequestException;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+import lombok.Builder;
+
+/**
+ * HTTP client scoped to a single task run.
+ *
+ * The underlying {@link HttpClient} (and its keep-alive connection pool) is
+ * created lazily on the first request and reused for every following call of
+ * the same run, so paging through a search or sending a series of batches
+ * pays the TCP/TLS setup only once. Closing this client closes the pool.
+ *
+ * When a registry key is given, the pool is leased from the worker-wide
+ * {@link HubspotClientRegistry} instead and handed back on close, so that
+ * later runs against the same portal start with warm connections. Logs and
+ * metrics of this class always go to the run owning this client; pools whose
+ * HTTP options enable request logs are never shared, as the underlying client
+ * writes those logs to the run that created it.
+ *
+ * When a portal key is given, every request is paced by the portal's
+ * {@link HubspotRateLimiter}; the time spent waiting is published as a
+ * metric and the last budget reported by HubSpot is logged when the client is
+ * closed.
+ *
+ * Failed requests are retried in place according to the {@link RetryPolicy},
+ * so a transient error only repeats the failing page or batch rather than the
+ * whole task. Creates are only retried when HubSpot did not process them, so
+ * that a retry never creates a duplicate record. Retry count and backoff time
+ * are published on close as well.
+ */
+public class HubspotClient implements Closeable {
+
+    private final RunContext runContext;
+    private final HttpConfiguration options;
+    private final String registryKey;
+    private final String portalKey;
+    private final RetryPolicy retryPolicy;
+
+    private final AtomicLong throttledNanos = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong backoffNanos = new AtomicLong();
+    private volatile HubspotRateLimiter lastLimiter;
+
+    private HttpClient httpClient;
+    private HubspotClientRegistry.Lease lease;
+
+    public HubspotClient(RunContext runContext, HttpConfiguration options) {
+        this(runContext, options, null, null, null);
+    }
+
+    @Builder
+    public HubspotClient(RunContext runContext, HttpConfiguration options, String registryKey, String portalKey, RetryPolicy retryPolicy) {
+        this.runContext = runContext;
+        this.options = options;
+        this.registryKey = registryKey;
+        this.portalKey = portalKey;
+        this.retryPolicy = retryPolicy == null ? RetryPolicy.NONE : retryPolicy;
+    }
+
+    public <T> HttpResponse<T> request(HttpRequest request, Class<T> responseType) throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+        HubspotRateLimiter limiter = limiter(request);
+        boolean idempotent = RetryPolicy.isIdempotent(request.getMethod(), request.getUri() != null ? request.getUri().getPath() : null);
+        long started = System.nanoTime();
+
+        for (int attempt = 1; ; attempt++) {
+            if (limiter != null) {
+                throttledNanos.addAndGet(limiter.acquire().toNanos());
+            }
+
+            try {
+                HttpResponse<T> response = httpClient().request(request, responseType);
+                if (limiter != null) {
+                    limiter.observe(response.getHeaders());
+                }
+                return response;
+            } catch (HttpClientResponseException e) {
+                HttpHeaders headers = e.getResponse() != null ? e.getResponse().getHeaders() : null;
+                if (limiter != null) {
+                    limiter.observe(headers);
+                }
+
+                int status = e.getResponse() != null && e.getResponse().getStatus() != null ? e.getResponse().getStatus().getCode() : 0;
+                HubspotConnection.HubspotErrorResponse error = HubspotConnection.parseError(e.getMessage());
+                if (!retryPolicy.isRetryable(status, error != null ? error.getPolicyName() : null, idempotent)) {
+                    throw e;
+                }
+
+                backoff(request, attempt, started, RetryPolicy.retryAfter(headers), "status " + status, e);
+            } catch (HttpClientRequestException e) {
+                // a create that may have reached HubSpot must not be sent twice
+                if (!idempotent && !RetryPolicy.isNeverSent(e)) {
+                    throw e;
+                }
+
+                backoff(request, attempt, started, null, e.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private <E extends Exception> void backoff(HttpRequest request, int attempt, long started, Duration retryAfter, String reason, E cause) throws E, InterruptedException {
+        if (attempt >= retryPolicy.getMaxAttempts()) {
+            throw cause;
+        }
+
+        Duration delay = retryPolicy.delay(attempt, retryAfter);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        if (elapsed.plus(delay).compareTo(retryPolicy.getMaxDuration()) > 0) {
+            throw cause;
+        }
+
+        runContext.logger().warn(
+            "HubSpot call to {} failed with {}, retrying in {} ms (attempt {}/{})",
+            request.getUri(), reason, delay.toMillis(), attempt + 1, retryPolicy.getMaxAttempts()
+        );
+
+        retries.incrementAndGet();
+        backoffNanos.addAndGet(delay.toNanos());
+        Thread.sleep(delay.toMillis());
+    }
+
+    private HubspotRateLimiter limiter(HttpRequest request) {
+        if (portalKey == null) {
+            return null;
+        }
+
+        boolean search = request.getUri() != null && request.getUri().getPath().endsWith("/search");
+        HubspotRateLimiter limiter = HubspotRateLimiter.of(portalKey, search);
+        if (!search) {
+            this.lastLimiter = limiter;
+        }
+        return limiter;
+    }
+
+    private synchronized HttpClient httpClient() throws IllegalVariableEvaluationException {
+        if (this.httpClient == null) {
+            if (this.registryKey == null) {
+                this.httpClient = new HttpClient(runContext, options);
+            } else {
+                this.lease = HubspotClientRegistry.getInstance().acquire(registryKey, () -> new HttpClient(runContext, options));
+                this.httpClient = this.lease.getClient();
+
+                runContext.metric(Counter.of(lease.isHit() ? "client.registry.hits" : "client.registry.misses", 1));
+                if (lease.getEvicted() > 0) {
+                    runContext.metric(Counter.of("client.registry.evictions", lease.getEvicted()));
+                }
+            }
+        }
+        return this.httpClient;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        long retried = retries.getAndSet(0);
+        if (retried > 0) {
+            runContext.metric(Counter.of("retries", retried));
+            runContext.metric(Timer.of("retry.backoff", Duration.ofNanos(backoffNanos.getAndSet(0))));
+        }
+
+        long throttled = throttledNanos.getAndSet(0);
+        if (throttled > 0) {
+            runContext.metric(Timer.of("ratelimit.wait", Duration.ofNanos(throttled)));
+        }
+
+        // a remaining budget is a level, which counters summed across clients and runs cannot report
+        HubspotRateLimiter limiter = this.lastLimiter;
+        this.lastLimiter = null;
+        if (limiter != null && (limiter.getRemaining() >= 0 || limiter.getDailyRemaining() >= 0)) {
+            runContext.logger().debug(
+                "HubSpot rate limit budget left: {} in the current window, {} today",
+                limiter.getRemaining(), limiter.getDailyRemaining()
+            );
+        }
+
+        if (this.lease != null) {
+            HubspotClientRegistry.getInstance().release(this.lease);
+            this.lease = null;
+        } else if (this.httpClient != null) {
+            this.httpClient.close();
+        }
+        this.httpClient = null;
+    }
+}
@@ -0,0 +1,196 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.client.HttpClient;
+
+import lombok.Getter;
+
+/**
+ * JVM-wide pool of warm {@link HttpClient} instances shared by task runs on the
+ * same worker.
+ *
+ * Clients are keyed by the HTTP configuration and a hash of the credential, so
+ * two runs only share a connection pool when they would have built an
+ * identical client for the same portal. A client is leased while a run uses it
+ * and becomes idle once released; idle clients are closed after
+ * {@link #IDLE_TIMEOUT} and the least recently used idle client is evicted when
+ * the registry reaches {@link #MAX_SIZE}. When every cached client is in use,
+ * new keys get a private client that is closed on release.
+ *
+ * A pooled client keeps a reference to the run context it was created with
+ * until it is closed. That context is only used while building the client, to
+ * render its HTTP options, which is why options holding expressions or
+ * enabling request logs are never pooled: the client then renders and logs
+ * nothing per run. Requests only carry string bodies, which need no context.
+ * Retries, rate limiting, logs and metrics of every request are handled by the
+ * {@link HubspotClient} of the run borrowing the pool, with its own context.
+ */
+public final class HubspotClientRegistry {
+
+    public static final Duration IDLE_TIMEOUT = Duration.ofMinutes(5);
+    public static final int MAX_SIZE = 32;
+
+    private static final HubspotClientRegistry INSTANCE = new HubspotClientRegistry(IDLE_TIMEOUT, MAX_SIZE);
+
+    private final Duration idleTimeout;
+    private final int maxSize;
+
+    // access-ordered so iteration starts with the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Getter
+    private final AtomicLong hits = new AtomicLong();
+    @Getter
+    private final AtomicLong misses = new AtomicLong();
+    @Getter
+    private final AtomicLong evictions = new AtomicLong();
+
+    HubspotClientRegistry(Duration idleTimeout, int maxSize) {
+        this.idleTimeout = idleTimeout;
+        this.maxSize = maxSize;
+    }
+
+    public static HubspotClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Lease acquire(String key, ClientFactory factory) throws IllegalVariableEvaluationException {
+        List<HttpClient> toClose = new ArrayList<>();
+        Lease lease;
+        int evicted;
+
+        synchronized (this) {
+            evicted = evictIdle(toClose);
+
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.leases++;
+                hits.incrementAndGet();
+                lease = new Lease(key, entry.client, true, 0);
+            } else {
+                misses.incrementAndGet();
+                if (entries.size() >= maxSize) {
+                    evicted += evictLeastRecentlyUsed(toClose);
+                }
+
+                HttpClient client = factory.create();
+                if (entries.size() < maxSize) {
+                    Entry created = new Entry(client);
+                    created.leases++;
+                    entries.put(key, created);
+                    lease = new Lease(key, client, false, 0);
+                } else {
+                    lease = new Lease(null, client, false, 0);
+                }
+            }
+        }
+
+        closeAll(toClose);
+
+        return new Lease(lease.key, lease.client, lease.hit, evicted);
+    }
+
+    public void release(Lease lease) {
+        if (lease.key == null) {
+            closeAll(List.of(lease.client));
+            return;
+        }
+
+        List<HttpClient> toClose = new ArrayList<>();
+
+        synchronized (this) {
+            Entry entry = entries.get(lease.key);
+            if (entry != null && entry.client == lease.client) {
+                entry.leases--;
+                entry.lastReleased = System.nanoTime();
+            }
+            evictIdle(toClose);
+        }
+
+        closeAll(toClose);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private int evictIdle(List<HttpClient> toClose) {
+        long now = System.nanoTime();
+        int count = 0;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.leases == 0 && now - entry.lastReleased >= idleTimeout.toNanos()) {
+                iterator.remove();
+                toClose.add(entry.client);
+                count++;
+            }
+        }
+
+        evictions.addAndGet(count);
+        return count;
+    }
+
+    private int evictLeastRecentlyUsed(List<HttpClient> toClose) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.leases == 0) {
+                iterator.remove();
+                toClose.add(entry.client);
+                evictions.incrementAndGet();
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    private static void closeAll(List<HttpClient> clients) {
+        for (HttpClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // the pool is being discarded, nothing left to recover
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ClientFactory {
+        HttpClient create() throws IllegalVariableEvaluationException;
+    }
+
+    private static class Entry {
+        private final HttpClient client;
+        private int leases;
+        private long lastReleased = System.nanoTime();
+
+        private Entry(HttpClient client) {
+            this.client = client;
+        }
+    }
+
+    @Getter
+    public static class Lease {
+        private final String key;
+        private final HttpClient client;
+        private final boolean hit;
+        private final int evicted;
+
+        private Lease(String key, HttpClient client, boolean hit, int evicted) {
+            this.key = key;
+            this.client = client;
+            this.hit = hit;
+            this.evicted = evicted;
+        }
+    }
+}
@@ -5,27 +5,46 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.exceptions.ResourceExpiredException;
 import io.kestra.core.http.HttpRequest;
 import io.kestra.core.http.HttpResponse;
-import io.kestra.core.http.client.HttpClient;
 import io.kestra.core.http.client.HttpClientResponseException;
 import io.kestra.core.http.client.configurations.HttpConfiguration;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.Task;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.FileSerde;
 import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -41,6 +60,7 @@ import reactor.core.publisher.Flux;
 public abstract class HubspotConnection extends Task {
 
     protected final static ObjectMapper mapper = JacksonMapper.ofJson(false);
+    private static final TypeReference<Map<String, Object>> INPUT_TYPE = new TypeReference<>() {};
     public static final String HUBSPOT_URL = "https://api.hubapi.com";
     public static final String JSON_CONTENT_TYPE = "application/json; charset=UTF-8";
 
@@ -55,8 +75,102 @@ public abstract class HubspotConnection extends Task {
     @Schema(title = "The HTTP client configuration")
     HttpConfiguration options;
 
+    @Schema(
+        title = "Retry policy for HubSpot API calls",
+        description = "Rate limited (429, except when the daily quota is exhausted), locked (423) and 5xx responses, as well as connection failures, are retried with exponential backoff, honoring HubSpot's `Retry-After` header. " +
+            "Only the failing request is repeated, so a paginated search or a batch job resumes where it stopped."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private ApiRetry apiRetry = ApiRetry.builder().build();
+
+    @Schema(
+        title = "Share warm HTTP connections across task runs",
+        description = "If true, the HTTP connection pool is borrowed from a worker-wide registry keyed by `options` and the credential, and returned to it when the task ends, so later runs against the same portal skip DNS, TCP and TLS setup. " +
+            "Idle pools are closed after 5 minutes. Clients are not shared when `options` holds expressions or enables request logs, since both are bound to the run that opened the pool; logs, metrics and retries of every request otherwise go to the run sending it. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    private Property<Boolean> sharedClient = Property.ofValue(false);
+
+    @Schema(
+        title = "Write-behind coalescing of single-record creates and updates",
+        description = "Opt-in. Trades a short wait for far fewer requests when many runs write to the same portal at the same time. Batch tasks are not affected."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private WriteCoalescing coalescing = WriteCoalescing.builder().build();
+
+    /**
+     * Opens a client for the current task run. Tasks issuing several requests
+     * should open it once in a try-with-resources block and pass it to
+     * {@link #makeCall(HubspotClient, HttpRequest.HttpRequestBuilder, Class)} so
+     * that every call reuses the same connection pool. Requests are paced by the
+     * rate limiter shared by all tasks using the same token.
+     */
+    protected HubspotClient client(RunContext runContext) throws IllegalVariableEvaluationException {
+        boolean shared = runContext.render(this.sharedClient).as(Boolean.class).orElse(false);
+
+        return HubspotClient.builder()
+            .runContext(runContext)
+            .options(options)
+            .registryKey(shared ? registryKey(runContext) : null)
+            .portalKey(portalKey(runContext))
+            .retryPolicy(RetryPolicy.of(runContext, apiRetry))
+            .build();
+    }
+
+    /**
+     * Key of the shared client in {@link HubspotClientRegistry}, or null when the
+     * HTTP options contain expressions that render differently from run to run.
+     */
+    private String registryKey(RunContext runContext) throws IllegalVariableEvaluationException {
+        String optionsJson;
+        try {
+            optionsJson = options == null ? "" : mapper.writeValueAsString(options);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+
+        if (optionsJson.contains("{{")) {
+            return null;
+        }
+
+        // the HTTP client writes request logs to the run that created it, so a pool
+        // logging requests would leak them into the executions borrowing it later
+        if (logsRequests()) {
+            runContext.logger().debug("HTTP request logs are enabled, the HubSpot client is not shared");
+            return null;
+        }
+
+        return hash(optionsJson) + ":" + hash(renderToken(runContext));
+    }
+
+    /**
+     * Whether {@code options} enables HTTP request or response logs.
+     */
+    protected boolean logsRequests() {
+        if (options == null) {
+            return false;
+        }
+
+        try {
+            JsonNode logs = mapper.valueToTree(options).path("logs");
+            return !logs.isMissingNode() && !logs.isNull() && !(logs.isContainerNode() && logs.isEmpty());
+        } catch (IllegalArgumentException e) {
+            // cannot tell, assume it does
+            return true;
+        }
+    }
+
     public <T> T makeCall(RunContext runContext, HttpRequest.HttpRequestBuilder requestBuilder, Class<T> responseType) throws Exception {
-        try (HttpClient client = new HttpClient(runContext, options)) {
+        try (HubspotClient client = client(runContext)) {
+            return makeCall(client, requestBuilder, responseType);
+        }
+    }
+
+    public <T> T makeCall(HubspotClient client, HttpRequest.HttpRequestBuilder requestBuilder, Class<T> responseType) throws Exception {
+        try {
             HttpRequest request = requestBuilder.build();
             HttpResponse<T> response = client.request(request, responseType);
             return response.getBody();
@@ -66,9 +180,10 @@ public abstract class HubspotConnection extends Task {
     }
 
     /**
-     * Parses the raw HubSpot error body and returns a RuntimeException with a
-     * clean, human-readable message. The original exception is preserved as the
-     * cause so no stack trace information is lost.
+     * Parses the raw HubSpot error body and returns a {@link HubspotException}
+     * with a clean, human-readable message and the response status code. The
+     * original exception is preserved as the cause so no stack trace
+     * information is lost.
      *
      * HubSpot error bodies look like:
      * [0x36]{"status":"error","message":"...","errors":[{"message":"Developer
@@ -79,16 +194,24 @@ public abstract class HubspotConnection extends Task {
      * the YAML-style option list inside each error message down to a tidy
      * comma-separated list of allowed values.
      */
-    private RuntimeException cleanHubspotException(HttpClientResponseException e) {
-        String rawBody = e.getMessage();
+    protected HubspotException cleanHubspotException(HttpClientResponseException e) {
+        int statusCode = e.getResponse() != null && e.getResponse().getStatus() != null ? e.getResponse().getStatus().getCode() : 0;
+        return new HubspotException(statusCode, cleanMessage(e.getMessage()), e);
+    }
+
+    /**
+     * The human-readable message {@link #cleanHubspotException} builds from a
+     * raw error body, for callers that report errors without throwing.
+     */
+    protected static String cleanMessage(String rawBody) {
         if (rawBody == null) {
-            return new RuntimeException("HubSpot API error (no response body)", e);
+            return "HubSpot API error (no response body)";
         }
 
         // Strip the "[0xNN]" chunked-encoding length prefix if present
         int jsonStart = rawBody.indexOf('{');
         if (jsonStart < 0) {
-            return new RuntimeException("HubSpot API error: " + rawBody, e);
+            return "HubSpot API error: " + rawBody;
         }
         String jsonBody = rawBody.substring(jsonStart);
 
@@ -99,61 +222,303 @@ public abstract class HubspotConnection extends Task {
 
             if (errorResponse.getErrors() != null) {
                 for (HubspotErrorDetail detail : errorResponse.getErrors()) {
-                    String msg = detail.getMessage();
-                    if (msg == null) {
-                        continue;
+                    if (detail.getMessage() != null) {
+                        cleanMessages.add(cleanDetail(detail.getMessage()));
                     }
-                    // The option list is YAML-style inside a JSON string, e.g.:
-                    //   [label: "Accounting"\nvalue: "accounting"\n..., label: ...]
-                    // Collapse each entry to just its value, producing:
-                    //   ["accounting", "administrative", ...]
-                    msg = msg.replaceAll(
-                        "label:[^,\\]]*?value:\\s*\"([^\"]+)\"[^,\\]]*?(?=[,\\]])",
-                        "\"$1\""
-                    );
-                    // Clean up any leftover escape noise
-                    msg = msg.replace("\\n", " ").replace("\\\"", "\"").trim();
-                    cleanMessages.add(msg);
                 }
             }
 
             if (!cleanMessages.isEmpty()) {
-                return new RuntimeException("HubSpot API error: " + String.join("; ", cleanMessages), e);
+                return "HubSpot API error: " + String.join("; ", cleanMessages);
             }
 
             // Fallback: top-level message when the errors array is absent/empty
             if (errorResponse.getMessage() != null) {
-                return new RuntimeException("HubSpot API error: " + errorResponse.getMessage(), e);
+                return "HubSpot API error: " + errorResponse.getMessage();
             }
 
         } catch (Exception parseException) {
             // JSON parsing failed — return a clean message with the raw body
-            return new RuntimeException("HubSpot API error: " + jsonBody, e);
+            return "HubSpot API error: " + jsonBody;
         }
 
-        return new RuntimeException("HubSpot API error (unknown)", e);
+        return "HubSpot API error (unknown)";
+    }
+
+    /**
+     * Collapses the YAML-style option list HubSpot embeds in some error messages.
+     */
+    protected static String cleanDetail(String msg) {
+        // The option list is YAML-style inside a JSON string, e.g.:
+        //   [label: "Accounting"\nvalue: "accounting"\n..., label: ...]
+        // Collapse each entry to just its value, producing:
+        //   ["accounting", "administrative", ...]
+        msg = msg.replaceAll(
+            "label:[^,\\]]*?value:\\s*\"([^\"]+)\"[^,\\]]*?(?=[,\\]])",
+            "\"$1\""
+        );
+        // Clean up any leftover escape noise
+        return msg.replace("\\n", " ").replace("\\\"", "\"").trim();
+    }
+
+    /**
+     * Deserializes the JSON part of a HubSpot error body, or returns null when
+     * the body is missing or is not JSON.
+     */
+    protected static HubspotErrorResponse parseError(String rawBody) {
+        if (rawBody == null || rawBody.indexOf('{') < 0) {
+            return null;
+        }
+
+        try {
+            return mapper.readValue(rawBody.substring(rawBody.indexOf('{')), HubspotErrorResponse.class);
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     public void getAuthorizedRequest(
         RunContext runContext,
         HttpRequest.HttpRequestBuilder requestBuilder) throws IllegalVariableEvaluationException {
+        requestBuilder.addHeader("Authorization", "Bearer " + renderToken(runContext));
+    }
+
+    protected String renderToken(RunContext runContext) throws IllegalVariableEvaluationException {
         var apiKeyRendered = runContext.render(this.apiKey).as(String.class);
         if (apiKeyRendered.isPresent()) {
-            requestBuilder.addHeader("Authorization", "Bearer " + apiKeyRendered.get()).build();
-            return;
+            return apiKeyRendered.get();
         }
         var authorizationTokenRendered = runContext.render(oauthToken).as(String.class);
         if (authorizationTokenRendered.isPresent()) {
-            requestBuilder.addHeader("Authorization", "Bearer " + authorizationTokenRendered.get()).build();
-            return;
+            return authorizationTokenRendered.get();
         }
         throw new IllegalArgumentException("Missing required authentication fields");
     }
 
+    /**
+     * Identifies the portal without exposing the credential, for worker-wide state
+     * such as rate limiters and caches.
+     */
+    protected String portalKey(RunContext runContext) throws IllegalVariableEvaluationException {
+        return hash(renderToken(runContext));
+    }
+
+    protected static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sends a single-record create, when {@code recordId} is null, or update. With
+     * {@code coalescing} enabled the write joins a batch shared with concurrent runs
+     * on this worker instead of sending {@code requestBuilder}.
+     */
+    protected HubspotResponse writeRecord(RunContext runContext, HttpRequest.HttpRequestBuilder requestBuilder, String recordId, Object request) throws Exception {
+        HubspotResponse response = sendWrite(runContext, requestBuilder, recordId, request);
+        if (recordId != null) {
+            evictCached(runContext, recordId);
+        }
+        return response;
+    }
+
+    /**
+     * Drops the record from the worker's {@link HubspotRecordCache}, and from the
+     * namespace KV store when Get tasks share records there, once this run has changed it.
+     */
+    protected void evictCached(RunContext runContext, String recordId) throws IllegalVariableEvaluationException {
+        String portal = portalKey(runContext);
+        HubspotRecordCache.getInstance().invalidate(portal, getObjectType(), recordId);
+        evictShared(runContext, portal, List.of(recordId));
+    }
+
+    /**
+     * Deletes the KV entries of records changed by this run, so that no worker
+     * serves them again. Nothing is deleted unless a Get task shared a record of
+     * this object type within its TTL, so writes cost a single KV read otherwise,
+     * and none at all when {@link #sharedCacheEviction()} is off. The records are
+     * written by then, so a KV store error only logs a warning.
+     */
+    protected void evictShared(RunContext runContext, String portal, Collection<String> recordIds) throws IllegalVariableEvaluationException {
+        if (recordIds.isEmpty() || !runContext.render(sharedCacheEviction()).as(Boolean.class).orElse(false)) {
+            return;
+        }
+
+        try {
+            KVStore kv = runContext.namespaceKv(runContext.flowInfo().namespace());
+            if (kvValue(kv, sharedRecordsMarker(portal)).isEmpty()) {
+                return;
+            }
+
+            for (String recordId : recordIds) {
+                kv.delete(sharedRecordKey(portal, recordId));
+            }
+            runContext.logger().debug("Dropped {} shared cached {} records", recordIds.size(), getObjectType());
+        } catch (Exception e) {
+            runContext.logger().warn("Could not drop {} changed {} records from the shared cache, Get tasks may serve them until their TTL: {}", recordIds.size(), getObjectType(), e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the records this task changes are dropped from the namespace KV
+     * store; write tasks expose it as {@code evictSharedCache}.
+     */
+    protected Property<Boolean> sharedCacheEviction() {
+        return Property.ofValue(false);
+    }
+
+    /**
+     * KV key holding every cached property set of one record, so a write drops them all at once.
+     */
+    protected String sharedRecordKey(String portal, String recordId) {
+        return "hubspot_record_" + hash(portal + getEndpoint() + "/" + recordId);
+    }
+
+    /**
+     * KV key present while records of this object type may be shared, written with the same TTL as them.
+     */
+    protected String sharedRecordsMarker(String portal) {
+        return "hubspot_records_" + hash(portal + getEndpoint());
+    }
+
+    protected static Optional<Object> kvValue(KVStore kv, String key) throws IOException {
+        try {
+            return kv.getValue(key).map(KVValue::value);
+        } catch (ResourceExpiredException e) {
+            return Optional.empty();
+        }
+    }
+
+    private HubspotResponse sendWrite(RunContext runContext, HttpRequest.HttpRequestBuilder requestBuilder, String recordId, Object request) throws Exception {
+        // the batch is sent by whichever run arrived first: request logs would show the others' payloads in its execution
+        boolean coalesce = coalescing != null && runContext.render(coalescing.getEnabled()).as(Boolean.class).orElse(false) && !logsRequests();
+        if (!coalesce) {
+            return makeCall(runContext, requestBuilder, HubspotResponse.class);
+        }
+
+        Map<String, Object> input = new HashMap<>(mapper.convertValue(request, INPUT_TYPE));
+        if (recordId != null) {
+            input.put("id", recordId);
+        }
+
+        URI batchUri = URI.create(buildHubspotURL() + "/batch/" + (recordId == null ? "create" : "update"));
+        Duration window = runContext.render(coalescing.getWindow()).as(Duration.class).orElse(Duration.ZERO);
+        int maxBatchSize = runContext.render(coalescing.getMaxBatchSize()).as(Integer.class).orElse(HubspotWriteCoalescer.MAX_BATCH_SIZE);
+
+        try (HubspotClient client = client(runContext)) {
+            HubspotBatchResponse.Result result = HubspotWriteCoalescer.submit(
+                portalKey(runContext),
+                batchUri.toString(),
+                input,
+                window,
+                maxBatchSize,
+                inputs -> {
+                    HttpRequest.HttpRequestBuilder batchBuilder = HttpRequest.builder()
+                        .uri(batchUri)
+                        .addHeader("Content-Type", JSON_CONTENT_TYPE)
+                        .method("POST")
+                        .body(HttpRequest.StringRequestBody.builder().content(mapper.writeValueAsString(Map.of("inputs", inputs))).build());
+                    getAuthorizedRequest(runContext, batchBuilder);
+
+                    runContext.logger().debug("Sending {} coalesced HubSpot writes to {}", inputs.size(), batchUri);
+                    return makeCall(client, batchBuilder, HubspotBatchResponse.class);
+                }
+            );
+
+            if (result == null) {
+                // the same record is already part of the pending batch
+                return makeCall(client, requestBuilder, HubspotResponse.class);
+            }
+
+            runContext.logger().debug("HubSpot write sent in a coalesced batch to {}", batchUri);
+            runContext.metric(Counter.of("write.coalesced", 1));
+
+            HubspotResponse response = new HubspotResponse();
+            response.setId(Long.valueOf(result.getId()));
+            response.setProperties(result.getProperties());
+            return response;
+        }
+    }
+
+    /**
+     * Validates and coerces the properties of request bodies against the
+     * definitions of this task's object type, cached per portal for
+     * {@code ttl} by {@link HubspotPropertySchema}. The first body with a
+     * property missing from the cached definitions reloads them, as the
+     * property may have been created since; it only fails if still unknown.
+     */
+    @SuppressWarnings("unchecked")
+    protected UnaryOperator<Map<String, Object>> propertyValidator(RunContext runContext, Property<Duration> ttl) throws Exception {
+        String portal = portalKey(runContext);
+        HubspotPropertySchema.Loader loader = () -> {
+            HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
+                .uri(URI.create(HUBSPOT_URL + "/crm/v3/properties/" + getObjectType()))
+                .method("GET");
+
+            getAuthorizedRequest(runContext, requestBuilder);
+
+            try (HubspotClient client = client(runContext)) {
+                return makeCall(client, requestBuilder, HubspotPropertySchema.PropertiesResponse.class).getResults();
+            }
+        };
+
+        Duration renderedTtl = runContext.render(ttl).as(Duration.class).orElse(HubspotPropertySchema.DEFAULT_TTL);
+        AtomicReference<HubspotPropertySchema> schema = new AtomicReference<>(HubspotPropertySchema.of(portal, getObjectType(), renderedTtl, loader));
+        AtomicBoolean reloaded = new AtomicBoolean();
+
+        return body -> {
+            if (!(body.get("properties") instanceof Map<?, ?> properties)) {
+                return body;
+            }
+
+            if (!schema.get().knows((Collection<String>) properties.keySet()) && !reloaded.getAndSet(true)) {
+                try {
+                    schema.set(HubspotPropertySchema.reload(portal, getObjectType(), schema.get(), loader));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unable to reload HubSpot " + getObjectType() + " property definitions: " + e.getMessage(), e);
+                }
+            }
+
+            Map<String, Object> validated = new HashMap<>(body);
+            validated.put("properties", schema.get().validate((Map<String, Object>) properties));
+            return validated;
+        };
+    }
+
+    /**
+     * The request body with its properties validated and coerced when
+     * {@code validateProperties} is set, or {@code request} unchanged otherwise.
+     */
+    protected Object validated(RunContext runContext, Property<Boolean> validateProperties, Property<Duration> ttl, Object request) throws Exception {
+        if (!runContext.render(validateProperties).as(Boolean.class).orElse(false)) {
+            return request;
+        }
+
+        return propertyValidator(runContext, ttl).apply(mapper.convertValue(request, INPUT_TYPE));
+    }
+
     protected String buildHubspotURL() {
         return HUBSPOT_URL + getEndpoint();
     }
 
+    /**
+     * Returns the properties of a single record the way {@code fetchType} asks:
+     * uploaded to internal storage, inline, or not at all. Only {@code STORE}
+     * touches the working directory and internal storage.
+     */
+    protected Fetched fetch(RunContext runContext, Property<FetchType> fetchType, Map<String, Object> properties) throws IOException, IllegalVariableEvaluationException {
+        return switch (runContext.render(fetchType).as(FetchType.class).orElse(FetchType.STORE)) {
+            case STORE -> new Fetched(store(runContext, List.of(properties)), null);
+            case FETCH, FETCH_ONE -> new Fetched(null, properties);
+            case NONE -> new Fetched(null, null);
+        };
+    }
+
+    protected record Fetched(URI uri, Map<String, Object> row) {}
+
     protected URI store(RunContext runContext, List<Map<String, Object>> results) throws IOException {
         File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
         try (var output = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
@@ -165,6 +530,14 @@ public abstract class HubspotConnection extends Task {
 
     protected abstract String getEndpoint();
 
+    /**
+     * CRM object type of the endpoint, e.g. {@code contacts} for {@code /crm/v3/objects/contacts}.
+     */
+    protected String getObjectType() {
+        String endpoint = getEndpoint();
+        return endpoint.substring(endpoint.lastIndexOf('/') + 1);
+    }
+
     // -------------------------------------------------------------------------
     // Error deserialization models
     // -------------------------------------------------------------------------
@@ -175,6 +548,8 @@ public abstract class HubspotConnection extends Task {
     protected static class HubspotErrorResponse {
         private String status;
         private String message;
+        private String category;
+        private String policyName;
         private List<HubspotErrorDetail> errors;
     }
 
@@ -184,5 +559,6 @@ public abstract class HubspotConnection extends Task {
     protected static class HubspotErrorDetail {
         private String message;
         private String code;
+        private Map<String, List<String>> context;
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * Error response from the HubSpot API, with the HTTP status code kept so that
+ * callers can tell a missing record from any other failure.
+ */
+@Getter
+public class HubspotException extends RuntimeException {
+
+    public static final int NOT_FOUND = 404;
+
+    // statuses HubSpot uses when the content of at least one input is invalid
+    public static final Set<Integer> INPUT_ERROR_STATUSES = Set.of(400, 409, 422);
+
+    private final int statusCode;
+
+    public HubspotException(int statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    public boolean isNotFound() {
+        return statusCode == NOT_FOUND;
+    }
+
+    public boolean isInputError() {
+        return INPUT_ERROR_STATUSES.contains(statusCode);
+    }
+}
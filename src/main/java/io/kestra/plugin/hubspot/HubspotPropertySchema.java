@@ -0,0 +1,256 @@
+package io.kestra.plugin.hubspot;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+/**
+ * CRM property definitions of one object type, used to validate and coerce
+ * record properties before they are sent so that a bad value fails locally
+ * instead of costing a request and, in batch tasks, a whole chunk.
+ *
+ * Definitions are loaded from {@code /crm/v3/properties/{objectType}} and kept
+ * per portal and object type, shared by all runs on the worker, for the TTL
+ * each caller accepts ({@link #DEFAULT_TTL} unless configured).
+ */
+public final class HubspotPropertySchema {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    // allowed options listed in an error message, the rest is elided
+    private static final int MAX_OPTIONS_SHOWN = 20;
+
+    private static final Map<String, Cached> SCHEMAS = new ConcurrentHashMap<>();
+
+    private final Map<String, Definition> definitions = new LinkedHashMap<>();
+
+    HubspotPropertySchema(List<Definition> definitions) {
+        for (Definition definition : definitions) {
+            this.definitions.put(definition.getName(), definition);
+        }
+    }
+
+    /**
+     * The cached schema of {@code objectType}, loaded with {@code loader} when
+     * missing or older than {@code ttl}. Concurrent runs may load it twice,
+     * which is harmless and cheaper than holding them all behind one request.
+     */
+    public static HubspotPropertySchema of(String portal, String objectType, Duration ttl, Loader loader) throws Exception {
+        Cached cached = SCHEMAS.get(portal + ":" + objectType);
+        if (cached != null && cached.loadedAt() + ttl.toMillis() > System.currentTimeMillis()) {
+            return cached.schema();
+        }
+        return load(portal, objectType, loader);
+    }
+
+    /**
+     * The schema loaded again in place of {@code stale}, which lacks a property
+     * that may have been created since it was cached. A schema another run
+     * reloaded in the meantime is returned as is.
+     */
+    public static HubspotPropertySchema reload(String portal, String objectType, HubspotPropertySchema stale, Loader loader) throws Exception {
+        Cached cached = SCHEMAS.get(portal + ":" + objectType);
+        if (cached != null && cached.schema() != stale) {
+            return cached.schema();
+        }
+        return load(portal, objectType, loader);
+    }
+
+    private static HubspotPropertySchema load(String portal, String objectType, Loader loader) throws Exception {
+        HubspotPropertySchema schema = new HubspotPropertySchema(loader.load());
+        SCHEMAS.put(portal + ":" + objectType, new Cached(schema, System.currentTimeMillis()));
+        return schema;
+    }
+
+    /**
+     * Whether every one of {@code names} is a defined property.
+     */
+    public boolean knows(Collection<String> names) {
+        return definitions.keySet().containsAll(names);
+    }
+
+    /**
+     * Returns {@code properties} with every value coerced to the format HubSpot
+     * expects for its property type, or throws an {@link IllegalArgumentException}
+     * listing every unknown property, read-only property and invalid value.
+     */
+    public Map<String, Object> validate(Map<String, Object> properties) {
+        Map<String, Object> coerced = new LinkedHashMap<>();
+        List<String> problems = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            Definition definition = definitions.get(entry.getKey());
+            if (definition == null) {
+                problems.add("unknown property '" + entry.getKey() + "'");
+                continue;
+            }
+            if (definition.isReadOnly()) {
+                problems.add("property '" + entry.getKey() + "' is read-only");
+                continue;
+            }
+
+            Object value = entry.getValue();
+            if (value == null || String.valueOf(value).isBlank()) {
+                // an empty value clears the property, whatever its type
+                coerced.put(entry.getKey(), value);
+                continue;
+            }
+
+            try {
+                coerced.put(entry.getKey(), coerce(definition, value));
+            } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+                problems.add("property '" + entry.getKey() + "': " + e.getMessage());
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid HubSpot properties: " + String.join("; ", problems));
+        }
+        return coerced;
+    }
+
+    private static Object coerce(Definition definition, Object value) {
+        String text = String.valueOf(value).trim();
+
+        return switch (String.valueOf(definition.getType())) {
+            case "number" -> {
+                if (value instanceof Number) {
+                    yield value;
+                }
+                try {
+                    new BigDecimal(text);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("'" + text + "' is not a number");
+                }
+                yield text;
+            }
+            case "bool" -> switch (text.toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "1" -> "true";
+                case "false", "no", "0" -> "false";
+                default -> throw new IllegalArgumentException("'" + text + "' is not a boolean");
+            };
+            case "enumeration" -> coerceOptions(definition, text);
+            case "date" -> toDate(text).toString();
+            case "datetime" -> toInstant(text).toString();
+            default -> value;
+        };
+    }
+
+    /**
+     * Matches each value, or each {@code ;}-separated value of a multiple
+     * checkbox, against the option values, then case-insensitively against
+     * values and labels. Options fed by another source, such as owners, are
+     * not listed by the schema and are sent as they are.
+     */
+    private static String coerceOptions(Definition definition, String text) {
+        if (definition.getOptions() == null || definition.getOptions().isEmpty() || Boolean.TRUE.equals(definition.getExternalOptions())) {
+            return text;
+        }
+
+        List<String> values = new ArrayList<>();
+        for (String part : "checkbox".equals(definition.getFieldType()) ? text.split(";") : new String[]{text}) {
+            String candidate = part.trim();
+            String match = definition.getOptions().stream()
+                .filter(option -> candidate.equals(option.getValue()))
+                .map(Option::getValue)
+                .findFirst()
+                .or(() -> definition.getOptions().stream()
+                    .filter(option -> candidate.equalsIgnoreCase(option.getValue()) || candidate.equalsIgnoreCase(option.getLabel()))
+                    .map(Option::getValue)
+                    .findFirst())
+                .orElseThrow(() -> new IllegalArgumentException("'" + candidate + "' is not one of the allowed options: " + allowed(definition)));
+            values.add(match);
+        }
+        return String.join(";", values);
+    }
+
+    private static String allowed(Definition definition) {
+        List<Option> options = definition.getOptions().stream().filter(option -> !Boolean.TRUE.equals(option.getHidden())).toList();
+        String shown = options.stream()
+            .limit(MAX_OPTIONS_SHOWN)
+            .map(option -> "\"" + option.getValue() + "\"")
+            .collect(Collectors.joining(", "));
+        return options.size() > MAX_OPTIONS_SHOWN ? shown + ", ..." : shown;
+    }
+
+    /**
+     * HubSpot date properties hold a day, sent as {@code yyyy-MM-dd}; datetimes
+     * and epoch milliseconds are reduced to their UTC day.
+     */
+    private static LocalDate toDate(String text) {
+        if (text.length() == 10 && text.charAt(4) == '-') {
+            return LocalDate.parse(text);
+        }
+        return toInstant(text).atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static Instant toInstant(String text) {
+        if (text.matches("-?\\d+")) {
+            return Instant.ofEpochMilli(Long.parseLong(text));
+        }
+        if (text.length() == 10) {
+            return LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return OffsetDateTime.parse(text).toInstant();
+    }
+
+    private record Cached(HubspotPropertySchema schema, long loadedAt) {}
+
+    @FunctionalInterface
+    public interface Loader {
+        List<Definition> load() throws Exception;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PropertiesResponse {
+        private List<Definition> results;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Definition {
+        private String name;
+        private String type;
+        private String fieldType;
+        private List<Option> options;
+        private Boolean externalOptions;
+        private Boolean calculated;
+        private ModificationMetadata modificationMetadata;
+
+        public boolean isReadOnly() {
+            return Boolean.TRUE.equals(calculated)
+                || (modificationMetadata != null && Boolean.TRUE.equals(modificationMetadata.getReadOnlyValue()));
+        }
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Option {
+        private String label;
+        private String value;
+        private Boolean hidden;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ModificationMetadata {
+        private Boolean readOnlyValue;
+    }
+}
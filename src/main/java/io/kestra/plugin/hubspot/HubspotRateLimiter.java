@@ -0,0 +1,186 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket pacing the requests sent to one HubSpot portal.
+ *
+ * Buckets are shared by every task running in the JVM with the same token.
+ * The burst size and window start from HubSpot's documented defaults and are
+ * learnt from the {@code X-HubSpot-RateLimit-*} headers of each response; the
+ * remaining budget reported by HubSpot always wins over the local estimate,
+ * which keeps concurrent workers from overshooting the shared quota.
+ *
+ * CRM search endpoints have their own, lower limit and do not return rate limit
+ * headers, so they use a separate bucket with a fixed rate.
+ *
+ * Buckets unused for {@link #IDLE_TIMEOUT} are dropped, so that a worker
+ * serving many portals over time does not keep one per token forever.
+ */
+public class HubspotRateLimiter {
+
+    public static final String HEADER_MAX = "X-HubSpot-RateLimit-Max";
+    public static final String HEADER_REMAINING = "X-HubSpot-RateLimit-Remaining";
+    public static final String HEADER_INTERVAL = "X-HubSpot-RateLimit-Interval-Milliseconds";
+    public static final String HEADER_DAILY_REMAINING = "X-HubSpot-RateLimit-Daily-Remaining";
+
+    private static final int DEFAULT_MAX = 100;
+    private static final long DEFAULT_INTERVAL_MILLIS = 10_000;
+    private static final int SEARCH_MAX = 5;
+    private static final long SEARCH_INTERVAL_MILLIS = 1_000;
+
+    // keep one request of head-room so in-flight calls from other workers do not tip us over
+    private static final int SAFETY_MARGIN = 1;
+
+    // long past any rate limit window, so a new bucket starting full is just as accurate
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private static final Map<String, HubspotRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_SWEEP = new AtomicLong(System.nanoTime());
+
+    private int max;
+    private long intervalNanos;
+    private double tokens;
+    private long lastRefill;
+
+    private volatile long remaining = -1;
+    private volatile long dailyRemaining = -1;
+    private volatile long lastUsed = System.nanoTime();
+
+    HubspotRateLimiter(int max, long intervalMillis) {
+        this.max = max;
+        this.intervalNanos = Duration.ofMillis(intervalMillis).toNanos();
+        this.tokens = usable(max);
+        this.lastRefill = System.nanoTime();
+    }
+
+    public static HubspotRateLimiter of(String portalKey, boolean search) {
+        evictIdle(System.nanoTime());
+
+        if (search) {
+            return LIMITERS.computeIfAbsent(portalKey + ":search", k -> new HubspotRateLimiter(SEARCH_MAX, SEARCH_INTERVAL_MILLIS));
+        }
+        return LIMITERS.computeIfAbsent(portalKey, k -> new HubspotRateLimiter(DEFAULT_MAX, DEFAULT_INTERVAL_MILLIS));
+    }
+
+    /**
+     * Drops the buckets unused since {@link #IDLE_TIMEOUT} before {@code now},
+     * at most once per {@link #SWEEP_INTERVAL}.
+     */
+    private static void evictIdle(long now) {
+        long next = NEXT_SWEEP.get();
+        if (now - next < 0 || !NEXT_SWEEP.compareAndSet(next, now + SWEEP_INTERVAL.toNanos())) {
+            return;
+        }
+
+        evictIdle(LIMITERS, now);
+    }
+
+    static void evictIdle(Map<String, HubspotRateLimiter> limiters, long now) {
+        limiters.values().removeIf(limiter -> now - limiter.lastUsed > IDLE_TIMEOUT.toNanos());
+    }
+
+    /**
+     * Blocks until a request may be sent and returns the time spent waiting.
+     */
+    public Duration acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            Thread.sleep(Duration.ofNanos(waitNanos).toMillis(), (int) (waitNanos % 1_000_000));
+        }
+        return Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * Takes one token and returns how long the caller must wait before using it.
+     */
+    synchronized long reserve() {
+        lastUsed = System.nanoTime();
+        refill();
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens * nanosPerToken());
+    }
+
+    public void observe(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+
+        OptionalLong headerMax = longHeader(headers, HEADER_MAX);
+        OptionalLong headerInterval = longHeader(headers, HEADER_INTERVAL);
+        OptionalLong headerRemaining = longHeader(headers, HEADER_REMAINING);
+        OptionalLong headerDaily = longHeader(headers, HEADER_DAILY_REMAINING);
+
+        observe(
+            headerMax.isPresent() ? (int) headerMax.getAsLong() : null,
+            headerInterval.isPresent() ? headerInterval.getAsLong() : null,
+            headerRemaining.isPresent() ? headerRemaining.getAsLong() : null,
+            headerDaily.isPresent() ? headerDaily.getAsLong() : null
+        );
+    }
+
+    synchronized void observe(Integer headerMax, Long headerIntervalMillis, Long headerRemaining, Long headerDailyRemaining) {
+        refill();
+
+        if (headerMax != null && headerMax > 0) {
+            this.max = headerMax;
+        }
+        if (headerIntervalMillis != null && headerIntervalMillis > 0) {
+            this.intervalNanos = Duration.ofMillis(headerIntervalMillis).toNanos();
+        }
+        if (headerRemaining != null) {
+            this.remaining = headerRemaining;
+            this.tokens = Math.min(this.tokens, usable(headerRemaining));
+        }
+        if (headerDailyRemaining != null) {
+            this.dailyRemaining = headerDailyRemaining;
+        }
+
+        this.tokens = Math.min(this.tokens, usable(this.max));
+    }
+
+    /**
+     * Last remaining budget of the current window reported by HubSpot, or -1 if unknown.
+     */
+    public long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Last remaining daily budget reported by HubSpot, or -1 if unknown.
+     */
+    public long getDailyRemaining() {
+        return dailyRemaining;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(usable(max), tokens + (now - lastRefill) / nanosPerToken());
+        lastRefill = now;
+    }
+
+    private double nanosPerToken() {
+        return (double) intervalNanos / Math.max(1, usable(max));
+    }
+
+    private static double usable(long budget) {
+        return Math.max(0, budget - SAFETY_MARGIN);
+    }
+
+    private static OptionalLong longHeader(HttpHeaders headers, String name) {
+        return headers.firstValue(name)
+            .map(String::trim)
+            .filter(v -> v.matches("\\d+"))
+            .map(v -> OptionalLong.of(Long.parseLong(v)))
+            .orElse(OptionalLong.empty());
+    }
+}
@@ -0,0 +1,162 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import lombok.Getter;
+
+/**
+ * JVM-wide read-through cache of single records fetched by {@code Get} tasks on
+ * the same worker.
+ *
+ * Records are keyed by portal, object type and record ID; each record holds one
+ * entry per requested property set, since two runs asking for different
+ * properties get different payloads. IDs HubSpot answered 404 for are kept
+ * as well, so that lookups of deleted or merged records are answered locally.
+ * Entries expire after the TTL given when they were stored and the least
+ * recently used record is evicted once {@link #MAX_SIZE} records are cached.
+ * Updates and deletes running on this worker drop every entry of the record
+ * they touched, including the ones stored under another key such as a unique
+ * property value, which are indexed by the record ID they resolved to.
+ */
+public final class HubspotRecordCache {
+
+    public static final int MAX_SIZE = 10_000;
+
+    // property sets are comma-separated names, so this key never clashes with one
+    private static final String NOT_FOUND = "#not-found";
+
+    private static final HubspotRecordCache INSTANCE = new HubspotRecordCache(MAX_SIZE, System::currentTimeMillis);
+
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    // access-ordered so iteration starts with the least recently used record
+    private final LinkedHashMap<RecordKey, Map<String, Entry>> records = new LinkedHashMap<>(16, 0.75f, true);
+
+    // keys other than the record ID an entry was stored under, by the record ID it resolved to
+    private final Map<RecordKey, Set<String>> aliases = new HashMap<>();
+
+    @Getter
+    private final AtomicLong hits = new AtomicLong();
+    @Getter
+    private final AtomicLong misses = new AtomicLong();
+
+    HubspotRecordCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public static HubspotRecordCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The cached record, or null when it is missing or expired.
+     */
+    public synchronized Entry get(String portal, String objectType, String id, String properties) {
+        RecordKey key = new RecordKey(portal, objectType, id);
+        Map<String, Entry> entries = records.get(key);
+        Entry entry = entries == null ? null : entries.get(properties);
+
+        if (entry != null && entry.expiresAt() <= clock.getAsLong()) {
+            entries.remove(properties);
+            if (entries.isEmpty()) {
+                remove(key);
+            }
+            entry = null;
+        }
+
+        (entry == null ? misses : hits).incrementAndGet();
+        return entry;
+    }
+
+    public synchronized void put(String portal, String objectType, String id, String properties, Long recordId, Map<String, Object> values, Duration ttl) {
+        RecordKey key = new RecordKey(portal, objectType, id);
+        Map<String, Entry> entries = records.computeIfAbsent(key, k -> new HashMap<>());
+        entries.remove(NOT_FOUND);
+        entries.put(properties, new Entry(recordId, values == null ? null : Collections.unmodifiableMap(new HashMap<>(values)), clock.getAsLong() + ttl.toMillis()));
+
+        if (recordId != null && !String.valueOf(recordId).equals(id)) {
+            aliases.computeIfAbsent(new RecordKey(portal, objectType, String.valueOf(recordId)), k -> new HashSet<>()).add(id);
+        }
+        evict();
+    }
+
+    private void evict() {
+        while (records.size() > maxSize) {
+            remove(records.keySet().iterator().next());
+        }
+    }
+
+    private void remove(RecordKey key) {
+        Map<String, Entry> entries = records.remove(key);
+        if (entries == null) {
+            return;
+        }
+
+        for (Entry entry : entries.values()) {
+            RecordKey resolved = entry.id() == null ? null : new RecordKey(key.portal(), key.objectType(), String.valueOf(entry.id()));
+            Set<String> keys = resolved == null ? null : aliases.get(resolved);
+            if (keys != null && keys.remove(key.id()) && keys.isEmpty()) {
+                aliases.remove(resolved);
+            }
+        }
+    }
+
+    /**
+     * Whether HubSpot answered 404 for this record less than the TTL given to
+     * {@link #putNotFound} ago, whatever the properties asked.
+     */
+    public synchronized boolean isNotFound(String portal, String objectType, String id) {
+        Map<String, Entry> entries = records.get(new RecordKey(portal, objectType, id));
+        Entry entry = entries == null ? null : entries.get(NOT_FOUND);
+
+        boolean notFound = entry != null && entry.expiresAt() > clock.getAsLong();
+        if (entry != null && !notFound) {
+            entries.remove(NOT_FOUND);
+        }
+
+        if (notFound) {
+            hits.incrementAndGet();
+        }
+        return notFound;
+    }
+
+    public synchronized void putNotFound(String portal, String objectType, String id, Duration ttl) {
+        // a missing record has no other entry worth keeping
+        Map<String, Entry> entries = new HashMap<>();
+        entries.put(NOT_FOUND, new Entry(null, null, clock.getAsLong() + ttl.toMillis()));
+        RecordKey key = new RecordKey(portal, objectType, id);
+        remove(key);
+        records.put(key, entries);
+        evict();
+    }
+
+    public synchronized void invalidate(String portal, String objectType, String id) {
+        RecordKey key = new RecordKey(portal, objectType, id);
+        remove(key);
+
+        Set<String> keys = aliases.remove(key);
+        if (keys != null) {
+            for (String alias : keys) {
+                records.remove(new RecordKey(portal, objectType, alias));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+
+    private record RecordKey(String portal, String objectType, String id) {}
+
+    public record Entry(Long id, Map<String, Object> properties, long expiresAt) {}
+}
@@ -0,0 +1,282 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Groups single-record writes sent to the same portal and batch endpoint by
+ * concurrent task runs of this JVM.
+ *
+ * The first write to arrive opens a batch and becomes its leader: it waits for
+ * the window to elapse or the batch to fill up, then sends every input in one
+ * request with its own client and completes the future of each participant
+ * with the result matching its input. Followers only wait for their future.
+ *
+ * An update of a record already present in the open batch is not added to it,
+ * as HubSpot rejects batches containing the same ID twice; the caller sends it
+ * on its own instead. The same happens to every follower when the leader stops
+ * before sending, e.g. because its run was killed.
+ *
+ * HubSpot rejects a whole batch when a single input is invalid; the inputs of a
+ * rejected batch are then resent one by one, so that only the caller of the
+ * invalid input fails.
+ *
+ * A coalescer is dropped as soon as its last pending write is answered, so a
+ * worker writing to many portals over time keeps none for idle ones.
+ */
+public class HubspotWriteCoalescer {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    // how long a follower waits for the leader's request after the window, retries included
+    public static final Duration SEND_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final String TRACE_ID = "objectWriteTraceId";
+
+    private static final Map<String, HubspotWriteCoalescer> COALESCERS = new ConcurrentHashMap<>();
+
+    private Batch open;
+
+    // writes submitted and not answered yet, only changed under the lock of its entry in COALESCERS
+    private int pending;
+
+    HubspotWriteCoalescer() {
+    }
+
+    /**
+     * Adds the input to a batch shared with the concurrent writes to the same
+     * portal and batch endpoint, and waits for its result.
+     *
+     * @return the result of the input, or null when it cannot join a batch and must be sent alone
+     */
+    public static HubspotBatchResponse.Result submit(String portalKey, String batchUrl, Map<String, Object> input,
+                                                     Duration window, int maxBatchSize, Sender sender) throws Exception {
+        String key = portalKey + " " + batchUrl;
+        HubspotWriteCoalescer coalescer = COALESCERS.compute(key, (k, existing) -> {
+            HubspotWriteCoalescer joined = existing == null ? new HubspotWriteCoalescer() : existing;
+            joined.pending++;
+            return joined;
+        });
+
+        try {
+            return coalescer.submit(input, window, maxBatchSize, sender);
+        } finally {
+            COALESCERS.computeIfPresent(key, (k, joined) -> --joined.pending == 0 ? null : joined);
+        }
+    }
+
+    static boolean isOpen(String portalKey, String batchUrl) {
+        return COALESCERS.containsKey(portalKey + " " + batchUrl);
+    }
+
+    /**
+     * Adds the input to a batch and waits for its result.
+     *
+     * @return the result of the input, or null when it cannot join a batch and must be sent alone
+     */
+    public HubspotBatchResponse.Result submit(Map<String, Object> input, Duration window, int maxBatchSize, Sender sender) throws Exception {
+        Slot slot = join(input, Math.max(1, Math.min(maxBatchSize, MAX_BATCH_SIZE)));
+        if (slot == null) {
+            return null;
+        }
+
+        if (slot.leader()) {
+            lead(slot.batch(), window, sender);
+        }
+
+        try {
+            return slot.future().get(window.plus(SEND_TIMEOUT).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Abandoned) {
+                return null;
+            }
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("No response to the coalesced HubSpot write after " + window.plus(SEND_TIMEOUT) + ", the record may or may not have been written", e);
+        }
+    }
+
+    /**
+     * Waits for the batch to fill up, then sends it. The batch is sealed and
+     * every future completed even when the wait is interrupted, so that no
+     * follower nor later write is left waiting on a batch nobody sends.
+     */
+    private void lead(Batch batch, Duration window, Sender sender) throws InterruptedException {
+        boolean ready = false;
+        try {
+            batch.full.await(window.toNanos(), TimeUnit.NANOSECONDS);
+            ready = true;
+        } finally {
+            seal(batch);
+            if (ready) {
+                batch.send(sender);
+            } else {
+                batch.abandon();
+            }
+        }
+    }
+
+    synchronized Slot join(Map<String, Object> input, int maxBatchSize) {
+        Object id = input.get("id");
+        if (open != null && id != null && open.ids.contains(id)) {
+            return null;
+        }
+
+        boolean leader = open == null;
+        if (leader) {
+            open = new Batch(maxBatchSize);
+        }
+
+        Batch batch = open;
+        CompletableFuture<HubspotBatchResponse.Result> future = batch.add(input);
+
+        if (batch.inputs.size() >= batch.maxSize) {
+            open = null;
+            batch.full.countDown();
+        }
+
+        return new Slot(batch, future, leader);
+    }
+
+    private synchronized void seal(Batch batch) {
+        if (open == batch) {
+            open = null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Sender {
+        HubspotBatchResponse send(List<Map<String, Object>> inputs) throws Exception;
+    }
+
+    // the leader stopped before sending: the write must be sent alone
+    private static class Abandoned extends RuntimeException {
+        Abandoned() {
+            super(null, null, false, false);
+        }
+    }
+
+    record Slot(Batch batch, CompletableFuture<HubspotBatchResponse.Result> future, boolean leader) {}
+
+    static class Batch {
+        private final int maxSize;
+        private final List<Map<String, Object>> inputs = new ArrayList<>();
+        private final List<CompletableFuture<HubspotBatchResponse.Result>> futures = new ArrayList<>();
+        private final Set<Object> ids = new HashSet<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        Batch(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        // called under the coalescer lock
+        private CompletableFuture<HubspotBatchResponse.Result> add(Map<String, Object> input) {
+            Map<String, Object> traced = new HashMap<>(input);
+            traced.put(TRACE_ID, String.valueOf(inputs.size()));
+            if (input.get("id") != null) {
+                ids.add(input.get("id"));
+            }
+
+            CompletableFuture<HubspotBatchResponse.Result> future = new CompletableFuture<>();
+            inputs.add(traced);
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * Sends the sealed batch and completes every future, whatever happens.
+         */
+        void send(Sender sender) {
+            try {
+                route(sender.send(inputs), allPositions());
+            } catch (HubspotException e) {
+                if (!e.isInputError() || inputs.size() == 1) {
+                    futures.forEach(future -> future.completeExceptionally(e));
+                } else {
+                    sendAlone(sender);
+                }
+            } catch (Throwable e) {
+                futures.forEach(future -> future.completeExceptionally(e));
+            } finally {
+                futures.forEach(future -> future.completeExceptionally(
+                    new IllegalStateException("HubSpot returned no result for this record")
+                ));
+            }
+        }
+
+        // one invalid input got the whole batch rejected; find out which one
+        private void sendAlone(Sender sender) {
+            for (int i = 0; i < inputs.size(); i++) {
+                try {
+                    route(sender.send(List.of(inputs.get(i))), List.of(i));
+                } catch (Throwable e) {
+                    futures.get(i).completeExceptionally(e);
+                }
+            }
+        }
+
+        void abandon() {
+            futures.forEach(future -> future.completeExceptionally(new Abandoned()));
+        }
+
+        private List<Integer> allPositions() {
+            List<Integer> positions = new ArrayList<>();
+            for (int i = 0; i < inputs.size(); i++) {
+                positions.add(i);
+            }
+            return positions;
+        }
+
+        private void route(HubspotBatchResponse response, List<Integer> positions) {
+            Map<String, Integer> byTraceId = new HashMap<>();
+            Map<String, Integer> byId = new HashMap<>();
+            for (int i : positions) {
+                byTraceId.put((String) inputs.get(i).get(TRACE_ID), i);
+                if (inputs.get(i).get("id") != null) {
+                    byId.put(String.valueOf(inputs.get(i).get("id")), i);
+                }
+            }
+
+            if (response.getResults() != null) {
+                List<HubspotBatchResponse.Result> results = response.getResults();
+                for (int i = 0; i < results.size(); i++) {
+                    HubspotBatchResponse.Result result = results.get(i);
+                    Integer position = result.getObjectWriteTraceId() != null ? byTraceId.get(result.getObjectWriteTraceId()) : byId.get(result.getId());
+
+                    // without trace ID nor input ID, a complete response is in input order
+                    if (position == null && results.size() == positions.size()) {
+                        position = positions.get(i);
+                    }
+                    if (position != null) {
+                        futures.get(position).complete(result);
+                    }
+                }
+            }
+
+            if (response.getErrors() != null) {
+                for (HubspotBatchResponse.Error error : response.getErrors()) {
+                    if (error.getContext() == null) {
+                        continue;
+                    }
+
+                    RuntimeException exception = new RuntimeException("HubSpot API error: " + HubspotConnection.cleanDetail(String.valueOf(error.getMessage())));
+                    error.getContext().forEach((key, values) -> {
+                        Map<String, Integer> lookup = TRACE_ID.equals(key) ? byTraceId : byId;
+                        if (values != null) {
+                            values.stream()
+                                .map(lookup::get)
+                                .filter(Objects::nonNull)
+                                .forEach(position -> futures.get(position).completeExceptionally(exception));
+                        }
+                    });
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.Writer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.kestra.core.serializers.FileSerde;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Writes pages of records to an ION writer on a background thread.
+ *
+ * The caller hands over a page as soon as it has been parsed and can
+ * immediately send the request for the next one, so network time and ION
+ * serialization overlap. At most {@code maxPending} pages wait or are being
+ * written at any time; {@link #submit(List)} blocks beyond that, which bounds
+ * memory regardless of how fast HubSpot answers.
+ *
+ * Closing interrupts the page being written and waits up to
+ * {@link #CLOSE_TIMEOUT} for it to stop, so that the output can be closed
+ * right after without a write still running on it.
+ */
+public class PageWriter implements AutoCloseable {
+
+    public static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Writer output;
+    private final Semaphore pending;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "hubspot-page-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private Future<?> last;
+
+    public PageWriter(Writer output, int maxPending) {
+        this.output = output;
+        this.pending = new Semaphore(Math.max(1, maxPending));
+    }
+
+    public void submit(List<Map<String, Object>> page) throws InterruptedException, ExecutionException {
+        checkFailure();
+        pending.acquire();
+
+        last = executor.submit(() -> {
+            try {
+                if (failure.get() == null) {
+                    written.addAndGet(FileSerde.writeAll(output, Flux.fromIterable(page)).block());
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    /**
+     * Waits for every submitted page to be written and returns the number of records written.
+     */
+    public long finish() throws InterruptedException, ExecutionException {
+        if (last != null) {
+            // pages are written in submission order on a single thread, so the last one completes after all others
+            last.get();
+        }
+        checkFailure();
+        return written.get();
+    }
+
+    private void checkFailure() throws ExecutionException {
+        Throwable e = failure.get();
+        if (e != null) {
+            throw new ExecutionException("Unable to write HubSpot records to internal storage", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.kestra.plugin.hubspot;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the properties a task is about to write with the values HubSpot
+ * holds, so writes that would change nothing can be skipped.
+ *
+ * HubSpot returns every property value as a string, so values are compared
+ * in a normalized form: empty and missing are the same, a value given as a
+ * number is compared by value ({@code 10.0} matches {@code "10.00"}), a value
+ * given as a boolean ignores case, and datetimes given as ISO-8601 or, as a
+ * number, epoch milliseconds are compared as instants. Any other string is
+ * compared as is, whitespace included, so that {@code "02134"} never matches
+ * {@code "2134"} and a value padded with spaces is written again.
+ */
+public final class PropertyDiff {
+
+    private PropertyDiff() {
+    }
+
+    /**
+     * Whether every property of {@code desired} already has the same value in {@code current}.
+     */
+    public static boolean unchanged(Map<String, Object> desired, Map<String, Object> current) {
+        if (current == null) {
+            return false;
+        }
+
+        for (Map.Entry<String, Object> entry : desired.entrySet()) {
+            if (!same(entry.getValue(), current.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stable fingerprint of normalized properties, independent of key order.
+     */
+    public static String fingerprint(Map<String, Object> properties) {
+        Map<String, String> normalized = new TreeMap<>();
+        properties.forEach((key, value) -> normalized.put(key, normalize(value)));
+        return HubspotConnection.hash(normalized.toString());
+    }
+
+    static boolean same(Object desired, Object current) {
+        String text = normalize(current);
+
+        // only the type of the desired value tells whether a string HubSpot returned holds a number
+        if (desired instanceof Number number && !text.isEmpty()) {
+            try {
+                return new BigDecimal(String.valueOf(number)).compareTo(new BigDecimal(text)) == 0;
+            } catch (NumberFormatException e) {
+                return normalize(desired).equals(text);
+            }
+        }
+        if (desired instanceof Boolean) {
+            return normalize(desired).equalsIgnoreCase(text);
+        }
+        return normalize(desired).equals(text);
+    }
+
+    static String normalize(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value instanceof Number number) {
+            try {
+                return new BigDecimal(String.valueOf(number)).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                // NaN and infinities
+                return String.valueOf(number);
+            }
+        }
+
+        String text = String.valueOf(value);
+        if (value instanceof Boolean) {
+            return text.toLowerCase();
+        }
+
+        if (text.length() > 10 && text.charAt(4) == '-' && text.charAt(10) == 'T') {
+            try {
+                return String.valueOf(Instant.parse(text).toEpochMilli());
+            } catch (DateTimeParseException e) {
+                return text;
+            }
+        }
+
+        return text;
+    }
+}
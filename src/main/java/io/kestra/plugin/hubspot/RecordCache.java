@@ -0,0 +1,49 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class RecordCache {
+
+    @Schema(
+        title = "Serve repeated reads of the same record from a cache",
+        description = "If true, the record is looked up in a cache shared by all runs on the worker before calling HubSpot, keyed by object type, record ID and requested `properties`. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> enabled = Property.ofValue(false);
+
+    @Schema(
+        title = "How long a cached record is served",
+        description = "Changes made in HubSpot, or by another worker, are seen at most this late. Default is 5 minutes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> ttl = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(
+        title = "How long a record HubSpot did not find is remembered",
+        description = "Lookups of an ID that returned 404 within this period, typically a deleted or merged record, are answered locally without calling HubSpot. Lookups by `idProperty` are never answered this way, since a record with that value may be created at any time. Set to zero to only cache records that exist. Default is 1 minute."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> notFoundTtl = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(
+        title = "Also keep cached records in the namespace KV store",
+        description = "If true, records missing from the worker cache are looked up in the KV store, which makes them visible to other workers. Updates, upserts, deletes and archives of this plugin delete the KV entries of the records they change, whatever worker they run on, unless their `evictSharedCache` is turned off. Records looked up by `idProperty` are only cached on the worker. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> shared = Property.ofValue(false);
+}
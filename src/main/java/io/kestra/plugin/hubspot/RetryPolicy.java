@@ -0,0 +1,165 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Rendered {@link ApiRetry} settings, together with the rules deciding which
+ * HubSpot failures are worth another attempt.
+ */
+@Getter
+@Builder
+public class RetryPolicy {
+
+    // 423 is returned while HubSpot holds a lock on the record, the others are transient server or proxy failures
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(423, 429, 500, 502, 503, 504);
+
+    // statuses HubSpot answers before processing the request, so even a create is safe to resend
+    private static final Set<Integer> UNPROCESSED_STATUSES = Set.of(423, 429);
+
+    // POST endpoints that only read, or whose effect does not change when repeated
+    private static final Set<String> IDEMPOTENT_POST_SUFFIXES = Set.of("/search", "/batch/read", "/batch/update", "/batch/upsert", "/batch/archive");
+
+    // error categories of single items in a batch response that may succeed on their own later
+    private static final Set<String> RETRYABLE_CATEGORIES = Set.of("RATE_LIMITS", "LOCKED", "TIMEOUT", "INTERNAL_ERROR");
+
+    // categories of items HubSpot turned down before processing them, so even a create is safe to resend
+    private static final Set<String> UNPROCESSED_CATEGORIES = Set.of("RATE_LIMITS", "LOCKED");
+
+    // a 429 caused by the daily quota will not clear before midnight, retrying only burns the time budget
+    private static final String DAILY_POLICY = "DAILY";
+
+    public static final RetryPolicy NONE = RetryPolicy.builder()
+        .maxAttempts(1)
+        .baseDelay(Duration.ZERO)
+        .maxDelay(Duration.ZERO)
+        .jitter(0)
+        .maxDuration(Duration.ZERO)
+        .build();
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final double jitter;
+    private final Duration maxDuration;
+
+    public static RetryPolicy of(RunContext runContext, ApiRetry apiRetry) throws IllegalVariableEvaluationException {
+        if (apiRetry == null) {
+            apiRetry = ApiRetry.builder().build();
+        }
+
+        return RetryPolicy.builder()
+            .maxAttempts(Math.max(1, runContext.render(apiRetry.getMaxAttempts()).as(Integer.class).orElse(1)))
+            .baseDelay(runContext.render(apiRetry.getBaseDelay()).as(Duration.class).orElse(Duration.ZERO))
+            .maxDelay(runContext.render(apiRetry.getMaxDelay()).as(Duration.class).orElse(Duration.ZERO))
+            .jitter(Math.min(1, Math.max(0, runContext.render(apiRetry.getJitter()).as(Double.class).orElse(0D))))
+            .maxDuration(runContext.render(apiRetry.getMaxDuration()).as(Duration.class).orElse(Duration.ZERO))
+            .build();
+    }
+
+    /**
+     * Whether a response with this status and HubSpot rate limit policy name may succeed on a later attempt.
+     */
+    public boolean isRetryable(int status, String policyName) {
+        if (status == 429 && DAILY_POLICY.equalsIgnoreCase(policyName)) {
+            return false;
+        }
+        return RETRYABLE_STATUSES.contains(status);
+    }
+
+    /**
+     * Whether a failed request with this status and policy name may be sent
+     * again. A request that is not idempotent, such as a create, may have been
+     * applied before the failure, so it is only resent when HubSpot did not
+     * process it.
+     */
+    public boolean isRetryable(int status, String policyName, boolean idempotent) {
+        return isRetryable(status, policyName) && (idempotent || UNPROCESSED_STATUSES.contains(status));
+    }
+
+    /**
+     * Whether sending the request again cannot apply it twice. Creates, single
+     * or batch, are the only HubSpot calls this plugin sends that are not.
+     */
+    public static boolean isIdempotent(String method, String path) {
+        if (!"POST".equalsIgnoreCase(method)) {
+            return true;
+        }
+        return path != null && IDEMPOTENT_POST_SUFFIXES.stream().anyMatch(path::endsWith);
+    }
+
+    /**
+     * Whether a transport failure happened before the request reached
+     * HubSpot: the host could not be resolved or the connection could not be
+     * opened.
+     */
+    public static boolean isNeverSent(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException
+                || cause.getClass().getSimpleName().equals("ConnectTimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a single failed item of a batch response with this error category may succeed on a later attempt.
+     */
+    public boolean isRetryable(String category) {
+        return category != null && RETRYABLE_CATEGORIES.contains(category);
+    }
+
+    /**
+     * Whether a single failed item of a batch response with this error category
+     * may be sent again. An item of a create that timed out or failed on the
+     * server may have been created anyway, so it is only resent when HubSpot did
+     * not process it.
+     */
+    public boolean isRetryable(String category, boolean idempotent) {
+        return isRetryable(category) && (idempotent || UNPROCESSED_CATEGORIES.contains(category));
+    }
+
+    /**
+     * Delay before the given retry (1 for the first retry), never shorter than the server's {@code Retry-After}.
+     */
+    public Duration delay(int retry, Duration retryAfter) {
+        long exponential = baseDelay.toMillis() * (1L << Math.min(retry - 1, 20));
+        long capped = Math.min(exponential, maxDelay.toMillis());
+
+        double factor = jitter == 0 ? 1 : 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        Duration delay = Duration.ofMillis(Math.max(0, Math.round(capped * factor)));
+
+        if (retryAfter != null && retryAfter.compareTo(delay) > 0) {
+            return retryAfter;
+        }
+        return delay;
+    }
+
+    /**
+     * Reads a {@code Retry-After} header expressed in seconds, the only form HubSpot sends.
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+
+        Optional<String> value = headers.firstValue("Retry-After").map(String::trim);
+        if (value.isPresent() && value.get().matches("\\d+")) {
+            return Duration.ofSeconds(Long.parseLong(value.get()));
+        }
+        return null;
+    }
+}
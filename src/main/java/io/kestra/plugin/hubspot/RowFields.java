@@ -0,0 +1,46 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the fields of a row of a batch task's {@code from} file, keyed by the
+ * property names of the matching single-record task.
+ */
+public final class RowFields {
+
+    private RowFields() {
+    }
+
+    /**
+     * The value of {@code key} as text, or an {@link IllegalArgumentException}
+     * naming the field and the kind of row, e.g. {@code company}, when missing.
+     */
+    public static String required(Map<String, Object> row, String key, String rowName) {
+        return optional(row, key).orElseThrow(() -> new IllegalArgumentException("Missing required field '" + key + "' in " + rowName + " row"));
+    }
+
+    /**
+     * The value of {@code key} as text, checked with {@link #required} when {@code required} is true.
+     */
+    public static Optional<String> field(Map<String, Object> row, String key, boolean required, String rowName) {
+        return required ? Optional.of(required(row, key, rowName)) : optional(row, key);
+    }
+
+    public static Optional<String> optional(Map<String, Object> row, String key) {
+        return Optional.ofNullable(row.get(key)).map(String::valueOf);
+    }
+
+    /**
+     * Record IDs listed under {@code key}, given as numbers or strings, or null when not a list.
+     */
+    public static List<Long> ids(Map<String, Object> row, String key) {
+        return row.get(key) instanceof List<?> list ? list.stream().map(id -> Long.valueOf(String.valueOf(id))).toList() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> additionalProperties(Map<String, Object> row) {
+        return row.get("additionalProperties") instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+}
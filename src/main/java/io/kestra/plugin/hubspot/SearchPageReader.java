@@ -0,0 +1,122 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+
+/**
+ * Token-level reader for CRM search responses.
+ *
+ * Walks the {@code results} array record by record and hands each record's
+ * properties to a consumer as soon as it is parsed, picking up
+ * {@code paging.next.after} and {@code total} on the way. Unlike binding the
+ * body to {@link HubspotSearchResponse}, no result objects are materialized and
+ * unused fields such as {@code createdAt} or {@code archived} are skipped
+ * without being decoded.
+ */
+public final class SearchPageReader {
+
+    private static final TypeReference<Map<String, Object>> PROPERTIES_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper mapper;
+
+    public SearchPageReader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public Page read(byte[] body, Consumer<Map<String, Object>> onRecord) throws IOException {
+        Page page = new Page();
+
+        try (JsonParser parser = mapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected HubSpot search response, expected a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "total" -> page.total = parser.getValueAsLong();
+                    case "results" -> readResults(parser, page, onRecord);
+                    case "paging" -> page.after = readNextAfter(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return page;
+    }
+
+    private void readResults(JsonParser parser, Page page, Consumer<Map<String, Object>> onRecord) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = null;
+            Map<String, Object> properties = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                if ("id".equals(field)) {
+                    id = parser.getValueAsString();
+                } else if ("properties".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    properties = mapper.readValue(parser, PROPERTIES_TYPE);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            page.count++;
+            page.lastId = id;
+            onRecord.accept(properties == null ? Map.of() : properties);
+        }
+    }
+
+    private static String readNextAfter(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String after = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("next".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String nextField = parser.currentName();
+                    parser.nextToken();
+                    if ("after".equals(nextField)) {
+                        after = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return after;
+    }
+
+    @Getter
+    public static class Page {
+        private long count;
+        private Long total;
+        private String after;
+        private String lastId;
+    }
+}
@@ -0,0 +1,107 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * High-water mark of an incremental search: the last modification date seen,
+ * with the record ID as tie-breaker between records modified in the same
+ * millisecond.
+ *
+ * The search itself filters on {@code lastmodifieddate >= modifiedAt}; records
+ * sitting exactly on the previous mark with an ID not above it were already
+ * exported and are dropped by {@link #isNew(Map)}.
+ */
+public class SearchWatermark {
+
+    private final String modifiedProperty;
+    private final Long startModifiedAt;
+    private final long startId;
+
+    @Getter
+    private Long modifiedAt;
+    @Getter
+    private long id;
+
+    public SearchWatermark(String modifiedProperty, Long startModifiedAt, long startId) {
+        this.modifiedProperty = modifiedProperty;
+        this.startModifiedAt = startModifiedAt;
+        this.startId = startId;
+        this.modifiedAt = startModifiedAt;
+        this.id = startId;
+    }
+
+    /**
+     * Restores a mark saved by {@link #toValue()}, or starts from scratch when nothing was saved yet.
+     */
+    public static SearchWatermark from(String modifiedProperty, Object saved) {
+        if (saved instanceof Map<?, ?> map && map.get("modifiedAt") != null) {
+            return new SearchWatermark(
+                modifiedProperty,
+                toEpochMillis(map.get("modifiedAt")),
+                map.get("id") != null ? Long.parseLong(String.valueOf(map.get("id"))) : 0L
+            );
+        }
+        return new SearchWatermark(modifiedProperty, null, 0L);
+    }
+
+    public Long getStartModifiedAt() {
+        return startModifiedAt;
+    }
+
+    public boolean isNew(Map<String, Object> record) {
+        if (startModifiedAt == null) {
+            return true;
+        }
+
+        Long recordModifiedAt = toEpochMillis(record.get(modifiedProperty));
+        if (recordModifiedAt == null || recordModifiedAt > startModifiedAt) {
+            return true;
+        }
+        return recordModifiedAt.equals(startModifiedAt) && recordId(record) > startId;
+    }
+
+    public synchronized void observe(Map<String, Object> record) {
+        Long recordModifiedAt = toEpochMillis(record.get(modifiedProperty));
+        if (recordModifiedAt == null) {
+            return;
+        }
+
+        long recordId = recordId(record);
+        if (modifiedAt == null || recordModifiedAt > modifiedAt || (recordModifiedAt.equals(modifiedAt) && recordId > id)) {
+            modifiedAt = recordModifiedAt;
+            id = recordId;
+        }
+    }
+
+    public synchronized boolean hasAdvanced() {
+        return modifiedAt != null && (!modifiedAt.equals(startModifiedAt) || id != startId);
+    }
+
+    public synchronized Map<String, Object> toValue() {
+        return Map.of(
+            "modifiedAt", modifiedAt,
+            "id", id
+        );
+    }
+
+    private static long recordId(Map<String, Object> record) {
+        Object value = record.get(AbstractSearchTask.OBJECT_ID_PROPERTY);
+        return value == null ? 0L : Long.parseLong(String.valueOf(value));
+    }
+
+    /**
+     * HubSpot returns dates as ISO-8601 strings in search results but accepts
+     * and sometimes returns epoch milliseconds; both are normalized to millis.
+     */
+    static Long toEpochMillis(Object value) {
+        if (value == null || String.valueOf(value).isBlank()) {
+            return null;
+        }
+
+        String text = String.valueOf(value).trim();
+        return text.matches("\\d+") ? Long.parseLong(text) : Instant.parse(text).toEpochMilli();
+    }
+}
@@ -0,0 +1,41 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class WriteCoalescing {
+
+    @Schema(
+        title = "Coalesce single-record writes into batch requests",
+        description = "If true, creates and updates sent by concurrent task runs on the same worker and portal are grouped into one `/batch/create` or `/batch/update` request, and each run gets back its own record. A batch HubSpot rejects because of one invalid write is resent one write at a time, so only that write fails. Writes are not coalesced when `options` enables request logs. Default is false."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Boolean> enabled = Property.ofValue(false);
+
+    @Schema(
+        title = "How long the first write waits for others to join its batch",
+        description = "Adds up to this much latency to every coalesced write. Default is 200 milliseconds."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Duration> window = Property.ofValue(Duration.ofMillis(200));
+
+    @Schema(
+        title = "Maximum number of writes per batch",
+        description = "A batch is sent as soon as it is full, without waiting for the end of the window. Default and maximum is 100."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxBatchSize = Property.ofValue(100);
+}
@@ -0,0 +1,59 @@
+package io.kestra.plugin.hubspot.companies;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hubspot.AbstractBatchArchiveTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Archive HubSpot company records in batches",
+    description = "Archives companys by ID through the HubSpot CRM v3 batch archive endpoint, 100 IDs per request. IDs come from `ids` or from an ION file in `from`; IDs that could not be archived are stored to internal storage."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            code = """
+                id: hubspot_companies_batch_archive
+                namespace: company.team
+
+                inputs:
+                  - id: company_ids
+                    type: FILE
+
+                tasks:
+                  - id: batch_archive_companies
+                    type: io.kestra.plugin.hubspot.companies.BatchArchive
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    from: "{{ inputs.company_ids }}"
+                """
+        )
+    }
+)
+public class BatchArchive extends AbstractBatchArchiveTask implements RunnableTask<AbstractBatchArchiveTask.Output> {
+
+    public static final String HUBSPOT_OBJECT_ENDPOINT = "/crm/v3/objects/companies";
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        return super.run(runContext);
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return HUBSPOT_OBJECT_ENDPOINT;
+    }
+}
@@ -0,0 +1,66 @@
+package io.kestra.plugin.hubspot.companies;
+
+import java.util.Map;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hubspot.AbstractBatchCreateTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Create HubSpot company records in batches",
+    description = "Reads company rows from an ION file in `from` and creates them through the HubSpot CRM v3 batch create endpoint, 100 records per request. Each row uses the same fields as the `companies.Create` task, such as `name`, `domain` or `additionalProperties`."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            code = """
+                id: hubspot_companies_batch_create
+                namespace: company.team
+
+                inputs:
+                  - id: companies
+                    type: FILE
+
+                tasks:
+                  - id: batch_create_companies
+                    type: io.kestra.plugin.hubspot.companies.BatchCreate
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    from: "{{ inputs.companies }}"
+                """
+        )
+    }
+)
+public class BatchCreate extends AbstractBatchCreateTask implements RunnableTask<AbstractBatchCreateTask.Output> {
+
+    public static final String HUBSPOT_OBJECT_ENDPOINT = "/crm/v3/objects/companies";
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        return super.run(runContext);
+    }
+
+    @Override
+    protected Object toRequest(Map<String, Object> row) {
+        return CompanyRequest.fromRow(row);
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return HUBSPOT_OBJECT_ENDPOINT;
+    }
+}
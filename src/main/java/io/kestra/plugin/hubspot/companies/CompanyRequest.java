@@ -6,6 +6,8 @@ import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import io.kestra.plugin.hubspot.RowFields;
+
 import lombok.Data;
 
 @Data
@@ -55,4 +57,29 @@ public class CompanyRequest {
             properties.putAll(additionalProperties);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the same payload as {@link Create} from a file row keyed by the task property names.
+     */
+    public static CompanyRequest fromRow(Map<String, Object> row) {
+        return fromRow(row, true);
+    }
+
+    /**
+     * Same as {@link #fromRow(Map)}, but when {@code forCreate} is false,
+     * fields only required to create a record may be missing, as an upsert row
+     * may update a record with a subset of its properties.
+     */
+    public static CompanyRequest fromRow(Map<String, Object> row, boolean forCreate) {
+        CompanyRequest request = new CompanyRequest();
+
+        RowFields.field(row, "name", forCreate, "company").ifPresent(request::setName);
+        RowFields.field(row, "domain", forCreate, "company").ifPresent(request::setDomain);
+        RowFields.optional(row, "companyDescription").ifPresent(request::setDescription);
+        RowFields.optional(row, "industry").ifPresent(request::setIndustry);
+        RowFields.optional(row, "companyType").ifPresent(request::setType);
+        request.setAdditionalProperties(RowFields.additionalProperties(row));
+
+        return request;
+    }
+}
@@ -56,7 +56,7 @@ public class Get extends AbstractGetTask implements RunnableTask<AbstractGetTask
 
     @Schema(
         title = "Company ID",
-        description = "Required HubSpot company record ID."
+        description = "Required HubSpot company record ID, or the value of `idProperty` when set."
     )
     @NotNull
     @PluginProperty(group = "main")
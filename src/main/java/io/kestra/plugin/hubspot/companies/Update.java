@@ -1,7 +1,6 @@
 package io.kestra.plugin.hubspot.companies;
 
 import java.net.URI;
-import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -128,9 +127,19 @@ public class Update extends AbstractUpdateTask implements RunnableTask<AbstractU
             request.setAdditionalProperties(additionalProps);
         }
 
+        Object payload = validated(runContext, this.validateProperties, this.propertyDefinitionsTtl, request);
+
+        if (isUnchanged(runContext, companyIdValue, payload)) {
+            logger.info("HubSpot company {} is unchanged, skipping update", companyIdValue);
+            return Output.builder()
+                .id(Long.valueOf(companyIdValue))
+                .skipped(true)
+                .build();
+        }
+
         URI uri = URI.create(buildHubspotURL() + "/" + companyIdValue);
 
-        String requestBody = mapper.writeValueAsString(request);
+        String requestBody = mapper.writeValueAsString(payload);
 
         HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
             .uri(uri)
@@ -140,15 +149,19 @@ public class Update extends AbstractUpdateTask implements RunnableTask<AbstractU
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        HubspotResponse response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        HubspotResponse response = writeRecord(runContext, requestBuilder, companyIdValue, payload);
+
+        rememberWritten(runContext, companyIdValue, payload);
 
-        URI fileURI = store(runContext, List.of(response.getProperties()));
+        Fetched fetched = fetch(runContext, this.fetchType, response.getProperties());
 
         logger.info("Updated HubSpot company: {}", response);
 
         return Output.builder()
             .id(response.getId())
-            .uri(fileURI)
+            .uri(fetched.uri())
+            .row(fetched.row())
+            .skipped(false)
             .build();
     }
 
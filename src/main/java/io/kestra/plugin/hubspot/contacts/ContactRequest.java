@@ -6,6 +6,8 @@ import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import io.kestra.plugin.hubspot.RowFields;
+
 import lombok.Data;
 
 @Data
@@ -50,4 +52,30 @@ public class ContactRequest {
             properties.putAll(additionalProperties);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the same payload as {@link Create} from a file row keyed by the task property names.
+     */
+    public static ContactRequest fromRow(Map<String, Object> row) {
+        return fromRow(row, true);
+    }
+
+    /**
+     * Same as {@link #fromRow(Map)}, but when {@code forCreate} is false,
+     * fields only required to create a record may be missing, as an upsert row
+     * may update a record with a subset of its properties.
+     */
+    public static ContactRequest fromRow(Map<String, Object> row, boolean forCreate) {
+        ContactRequest request = new ContactRequest();
+
+        RowFields.field(row, "email", forCreate, "contact").ifPresent(request::setEmail);
+        RowFields.optional(row, "firstName").ifPresent(request::setFirstName);
+        RowFields.optional(row, "lastName").ifPresent(request::setLastName);
+        RowFields.optional(row, "phone").ifPresent(request::setPhone);
+        RowFields.optional(row, "jobTitle").ifPresent(request::setJobTitle);
+        RowFields.optional(row, "lifecycleStage").ifPresent(request::setLifecycleStage);
+        request.setAdditionalProperties(RowFields.additionalProperties(row));
+
+        return request;
+    }
+}
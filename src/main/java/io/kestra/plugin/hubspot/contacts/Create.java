@@ -1,7 +1,6 @@
 package io.kestra.plugin.hubspot.contacts;
 
 import java.net.URI;
-import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -128,9 +127,11 @@ public class Create extends AbstractCreateTask implements RunnableTask<AbstractC
             request.setAdditionalProperties(additionalProps);
         }
 
+        Object payload = validated(runContext, this.validateProperties, this.propertyDefinitionsTtl, request);
+
         URI uri = URI.create(buildHubspotURL());
 
-        String requestBody = mapper.writeValueAsString(request);
+        String requestBody = mapper.writeValueAsString(payload);
 
         logger.info("Request body: {}", requestBody);
 
@@ -142,13 +143,14 @@ public class Create extends AbstractCreateTask implements RunnableTask<AbstractC
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        HubspotResponse response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        HubspotResponse response = writeRecord(runContext, requestBuilder, null, payload);
 
-        URI fileURI = store(runContext, List.of(response.getProperties()));
+        Fetched fetched = fetch(runContext, this.fetchType, response.getProperties());
 
         return Output.builder()
             .id(response.getId())
-            .uri(fileURI)
+            .uri(fetched.uri())
+            .row(fetched.row())
             .build();
     }
 
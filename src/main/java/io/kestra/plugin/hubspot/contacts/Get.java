@@ -45,6 +45,26 @@ import io.kestra.core.models.annotations.PluginProperty;
                     properties:
                       - email
                 """
+        ),
+        @Example(
+            title = "Fetch a contact by email without searching first",
+            full = true,
+            code = """
+                id: hubspot_contacts_get_by_email
+                namespace: company.team
+
+                inputs:
+                  - id: email
+                    type: STRING
+
+                tasks:
+                  - id: get_contact
+                    type: io.kestra.plugin.hubspot.contacts.Get
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    contactId: "{{ inputs.email }}"
+                    idProperty: email
+                    fetchType: FETCH_ONE
+                """
         )
     }
 )
@@ -54,7 +74,7 @@ public class Get extends AbstractGetTask implements RunnableTask<AbstractGetTask
 
     @Schema(
         title = "Contact ID",
-        description = "Required HubSpot contact record ID."
+        description = "Required HubSpot contact record ID, or the value of `idProperty` when set."
     )
     @NotNull
     @PluginProperty(group = "main")
@@ -57,4 +57,9 @@ public class Search extends AbstractSearchTask implements RunnableTask<AbstractS
     protected String getEndpoint() {
         return HUBSPOT_OBJECT_ENDPOINT;
     }
+
+    @Override
+    protected String getLastModifiedProperty() {
+        return "lastmodifieddate";
+    }
 }
@@ -1,7 +1,6 @@
 package io.kestra.plugin.hubspot.contacts;
 
 import java.net.URI;
-import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -140,9 +139,19 @@ public class Update extends AbstractUpdateTask implements RunnableTask<AbstractU
             request.setAdditionalProperties(additionalProps);
         }
 
+        Object payload = validated(runContext, this.validateProperties, this.propertyDefinitionsTtl, request);
+
+        if (isUnchanged(runContext, contactIdValue, payload)) {
+            logger.info("HubSpot contact {} is unchanged, skipping update", contactIdValue);
+            return Output.builder()
+                .id(Long.valueOf(contactIdValue))
+                .skipped(true)
+                .build();
+        }
+
         URI uri = URI.create(buildHubspotURL() + "/" + contactIdValue);
 
-        String requestBody = mapper.writeValueAsString(request);
+        String requestBody = mapper.writeValueAsString(payload);
 
         HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
             .uri(uri)
@@ -152,15 +161,19 @@ public class Update extends AbstractUpdateTask implements RunnableTask<AbstractU
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        HubspotResponse response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        HubspotResponse response = writeRecord(runContext, requestBuilder, contactIdValue, payload);
+
+        rememberWritten(runContext, contactIdValue, payload);
 
-        URI fileURI = store(runContext, List.of(response.getProperties()));
+        Fetched fetched = fetch(runContext, this.fetchType, response.getProperties());
 
         logger.info("Updated HubSpot company: {}", response);
 
         return Output.builder()
             .id(response.getId())
-            .uri(fileURI)
+            .uri(fetched.uri())
+            .row(fetched.row())
+            .skipped(false)
             .build();
     }
 
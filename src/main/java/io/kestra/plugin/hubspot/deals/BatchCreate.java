@@ -0,0 +1,66 @@
+package io.kestra.plugin.hubspot.deals;
+
+import java.util.Map;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hubspot.AbstractBatchCreateTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Create HubSpot deal records in batches",
+    description = "Reads deal rows from an ION file in `from` and creates them through the HubSpot CRM v3 batch create endpoint, 100 records per request. Each row uses the same fields as the `deals.Create` task, such as `name`, `pipeline`, `stage` or `associatedCompanyIds`."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            code = """
+                id: hubspot_deals_batch_create
+                namespace: company.team
+
+                inputs:
+                  - id: deals
+                    type: FILE
+
+                tasks:
+                  - id: batch_create_deals
+                    type: io.kestra.plugin.hubspot.deals.BatchCreate
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    from: "{{ inputs.deals }}"
+                """
+        )
+    }
+)
+public class BatchCreate extends AbstractBatchCreateTask implements RunnableTask<AbstractBatchCreateTask.Output> {
+
+    public static final String HUBSPOT_OBJECT_ENDPOINT = "/crm/v3/objects/deals";
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        return super.run(runContext);
+    }
+
+    @Override
+    protected Object toRequest(Map<String, Object> row) {
+        return DealRequest.fromRow(row);
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return HUBSPOT_OBJECT_ENDPOINT;
+    }
+}
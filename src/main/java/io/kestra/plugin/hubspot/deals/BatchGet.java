@@ -0,0 +1,63 @@
+package io.kestra.plugin.hubspot.deals;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hubspot.AbstractBatchGetTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Fetch HubSpot deal records in batches",
+    description = "Reads deals by ID through the HubSpot CRM v3 batch read endpoint, 100 IDs per request, and stores their properties to a single internal storage file. IDs come from `ids` or from an ION file in `from`."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            code = """
+                id: hubspot_deals_batch_get
+                namespace: company.team
+
+                inputs:
+                  - id: deal_ids
+                    type: FILE
+
+                tasks:
+                  - id: batch_get_deals
+                    type: io.kestra.plugin.hubspot.deals.BatchGet
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    from: "{{ inputs.deal_ids }}"
+                    properties:
+                      - dealname
+                      - amount
+                      - dealstage
+                """
+        )
+    }
+)
+public class BatchGet extends AbstractBatchGetTask implements RunnableTask<AbstractBatchGetTask.Output> {
+
+    public static final String HUBSPOT_OBJECT_ENDPOINT = "/crm/v3/objects/deals";
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        return super.run(runContext);
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return HUBSPOT_OBJECT_ENDPOINT;
+    }
+}
@@ -0,0 +1,60 @@
+package io.kestra.plugin.hubspot.deals;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hubspot.AbstractBatchUpdateTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Update HubSpot deal records in batches",
+    description = "Reads `{id, properties}` rows from an ION file in `from` and updates them through the HubSpot CRM v3 batch update endpoint, 100 records per request, storing every updated record to a single internal storage file."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            code = """
+                id: hubspot_deals_batch_update
+                namespace: company.team
+
+                inputs:
+                  - id: updates
+                    type: FILE
+
+                tasks:
+                  - id: batch_update_deals
+                    type: io.kestra.plugin.hubspot.deals.BatchUpdate
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    from: "{{ inputs.updates }}"
+                    concurrency: 4
+                """
+        )
+    }
+)
+public class BatchUpdate extends AbstractBatchUpdateTask implements RunnableTask<AbstractBatchUpdateTask.Output> {
+
+    public static final String HUBSPOT_OBJECT_ENDPOINT = "/crm/v3/objects/deals";
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        return super.run(runContext);
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return HUBSPOT_OBJECT_ENDPOINT;
+    }
+}
@@ -0,0 +1,72 @@
+package io.kestra.plugin.hubspot.deals;
+
+import java.util.Map;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.hubspot.AbstractBatchUpsertTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Create or update HubSpot deal records in batches",
+    description = "Reads deal rows from an ION file in `from` and upserts them through the HubSpot CRM v3 batch upsert endpoint, 100 records per request, matching existing records on `idProperty`, a unique deal property that must be set. Each row uses the same fields as the `deals.Create` task; the output tells for each record whether it was created or updated."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            code = """
+                id: hubspot_deals_batch_upsert
+                namespace: company.team
+
+                inputs:
+                  - id: deals
+                    type: FILE
+
+                tasks:
+                  - id: batch_upsert_deals
+                    type: io.kestra.plugin.hubspot.deals.BatchUpsert
+                    apiKey: "{{ secret('HUBSPOT_API_KEY') }}"
+                    from: "{{ inputs.deals }}"
+                    idProperty: external_deal_id
+                """
+        )
+    }
+)
+public class BatchUpsert extends AbstractBatchUpsertTask implements RunnableTask<AbstractBatchUpsertTask.Output> {
+
+    public static final String HUBSPOT_OBJECT_ENDPOINT = "/crm/v3/objects/deals";
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        return super.run(runContext);
+    }
+
+    @Override
+    protected Object toRequest(Map<String, Object> row) {
+        return DealRequest.fromRow(row, false);
+    }
+
+    @Override
+    protected String getDefaultIdProperty() {
+        return null;
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return HUBSPOT_OBJECT_ENDPOINT;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import io.kestra.plugin.hubspot.RowFields;
+
 import lombok.Data;
 
 @Data
@@ -72,6 +74,34 @@ public class DealRequest {
         }
     }
 
+    /**
+     * Builds the same payload as {@link Create} from a file row keyed by the task property names.
+     */
+    public static DealRequest fromRow(Map<String, Object> row) {
+        return fromRow(row, true);
+    }
+
+    /**
+     * Same as {@link #fromRow(Map)}, but when {@code forCreate} is false,
+     * fields only required to create a record may be missing, as an upsert row
+     * may update a record with a subset of its properties.
+     */
+    public static DealRequest fromRow(Map<String, Object> row, boolean forCreate) {
+        DealRequest request = new DealRequest();
+
+        RowFields.field(row, "name", forCreate, "deal").ifPresent(request::setName);
+        RowFields.field(row, "pipeline", forCreate, "deal").ifPresent(request::setPipeline);
+        RowFields.field(row, "stage", forCreate, "deal").ifPresent(request::setStage);
+        RowFields.optional(row, "amount").map(Double::valueOf).ifPresent(request::setAmount);
+        RowFields.optional(row, "closeDate").ifPresent(request::setCloseDate);
+        RowFields.optional(row, "dealType").ifPresent(request::setDealType);
+        request.setAssociatedCompanyIds(RowFields.ids(row, "associatedCompanyIds"));
+        request.setAssociatedContactIds(RowFields.ids(row, "associatedContactIds"));
+        request.setAdditionalProperties(RowFields.additionalProperties(row));
+
+        return request;
+    }
+
     @Data
     public static class DealAssociation {
         private final String to;
@@ -55,7 +55,7 @@ public class Get extends AbstractGetTask implements RunnableTask<AbstractGetTask
 
     @Schema(
         title = "Deal ID",
-        description = "Required HubSpot deal record ID."
+        description = "Required HubSpot deal record ID, or the value of `idProperty` when set."
     )
     @NotNull
     @PluginProperty(group = "main")
@@ -167,9 +167,21 @@ public class Update extends AbstractUpdateTask implements RunnableTask<AbstractU
             request.setAdditionalProperties(additionalProps);
         }
 
-        URI uri = URI.create(buildHubspotURL() + "/" + dealId);
+        String dealIdValue = runContext.render(this.dealId).as(String.class).orElseThrow();
 
-        String requestBody = mapper.writeValueAsString(request);
+        Object payload = validated(runContext, this.validateProperties, this.propertyDefinitionsTtl, request);
+
+        if (isUnchanged(runContext, dealIdValue, payload)) {
+            logger.info("HubSpot deal {} is unchanged, skipping update", dealIdValue);
+            return Output.builder()
+                .id(Long.valueOf(dealIdValue))
+                .skipped(true)
+                .build();
+        }
+
+        URI uri = URI.create(buildHubspotURL() + "/" + dealIdValue);
+
+        String requestBody = mapper.writeValueAsString(payload);
 
         logger.info("Request body: {}", requestBody);
 
@@ -181,15 +193,19 @@ public class Update extends AbstractUpdateTask implements RunnableTask<AbstractU
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        HubspotResponse response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        HubspotResponse response = writeRecord(runContext, requestBuilder, dealIdValue, payload);
+
+        rememberWritten(runContext, dealIdValue, payload);
 
         logger.info("Created HubSpot record: {}", response);
 
-        URI fileURI = store(runContext, List.of(response.getProperties()));
+        Fetched fetched = fetch(runContext, this.fetchType, response.getProperties());
 
         return Output.builder()
             .id(response.getId())
-            .uri(fileURI)
+            .uri(fetched.uri())
+            .row(fetched.row())
+            .skipped(false)
             .build();
     }
 
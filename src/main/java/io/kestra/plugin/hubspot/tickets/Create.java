@@ -1,7 +1,6 @@
 package io.kestra.plugin.hubspot.tickets;
 
 import java.net.URI;
-import java.util.List;
 
 import org.slf4j.Logger;
 
@@ -142,9 +141,11 @@ public class Create extends AbstractCreateTask implements RunnableTask<AbstractC
             request.setHsPipeline(runContext.render(this.pipeline).as(Integer.class).orElseThrow());
         }
 
+        Object payload = validated(runContext, this.validateProperties, this.propertyDefinitionsTtl, request);
+
         URI uri = URI.create(buildHubspotURL());
 
-        String requestBody = mapper.writeValueAsString(request);
+        String requestBody = mapper.writeValueAsString(payload);
 
         logger.info("Request body: {}", requestBody);
 
@@ -156,17 +157,18 @@ public class Create extends AbstractCreateTask implements RunnableTask<AbstractC
 
         getAuthorizedRequest(runContext, requestBuilder);
 
-        HubspotResponse response = makeCall(runContext, requestBuilder, HubspotResponse.class);
+        HubspotResponse response = writeRecord(runContext, requestBuilder, null, payload);
 
         logger.info("Created HubSpot record: {}", response);
 
-        URI fileURI = store(runContext, List.of(response.getProperties()));
+        Fetched fetched = fetch(runContext, this.fetchType, response.getProperties());
 
         logger.info("Created HubSpot ticket: {}", response);
 
         return Output.builder()
             .id(response.getId())
-            .uri(fileURI)
+            .uri(fetched.uri())
+            .row(fetched.row())
             .build();
     }
 
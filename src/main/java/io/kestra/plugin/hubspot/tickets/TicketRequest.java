@@ -1,8 +1,12 @@
 package io.kestra.plugin.hubspot.tickets;
 
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import io.kestra.plugin.hubspot.RowFields;
+
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +27,22 @@ public class TicketRequest {
         this.properties.setHsTicketPriority(priority);
     }
 
+    /**
+     * Builds the same payload as {@link Create} from a file row keyed by the task property names.
+     */
+    public static TicketRequest fromRow(Map<String, Object> row) {
+        TicketRequest request = new TicketRequest(
+            RowFields.optional(row, "subject").orElse(null),
+            RowFields.optional(row, "content").orElse(null),
+            RowFields.optional(row, "stage").map(Integer::valueOf).orElse(1)
+        );
+
+        RowFields.optional(row, "pipeline").map(Integer::valueOf).ifPresent(request::setHsPipeline);
+        RowFields.optional(row, "priority").map(priority -> Create.Priority.valueOf(priority).name()).ifPresent(request::setPriority);
+
+        return request;
+    }
+
     @Data
     @RequiredArgsConstructor
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -0,0 +1,113 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hubspot.contacts.BatchArchive;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class AbstractBatchArchiveTaskTest {
+
+    private static final URI BATCH_URI = URI.create("https://api.hubapi.com/crm/v3/objects/contacts/batch/archive");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldArchiveChunkAndDropItsCachedRecords() throws Exception {
+        BatchArchive task = task();
+        String portal = UUID.randomUUID().toString();
+        HubspotRecordCache cache = HubspotRecordCache.getInstance();
+        cache.put(portal, task.getObjectType(), "1", "", 1L, Map.of("email", "a@example.com"), Duration.ofMinutes(5));
+        cache.put(portal, task.getObjectType(), "3", "", 3L, Map.of("email", "c@example.com"), Duration.ofMinutes(5));
+
+        // HubSpot answers 204 with no body
+        StubHubspotClient client = new StubHubspotClient(body -> null);
+        Queue<String> archived = new ConcurrentLinkedQueue<>();
+
+        List<Map<String, Object>> failures = task.archiveChunk(runContextFactory.of(), client, BATCH_URI, portal, List.of("1", "2"), archived);
+
+        assertThat(failures, is(empty()));
+        assertThat(archived, contains("1", "2"));
+        assertThat(client.requests, hasSize(1));
+        assertThat((List<?>) client.requests.getFirst().get("inputs"), hasSize(2));
+        assertThat(cache.get(portal, task.getObjectType(), "1", ""), is(nullValue()));
+        assertThat(cache.get(portal, task.getObjectType(), "3", ""), is(notNullValue()));
+    }
+
+    @Test
+    void shouldReportEveryIdOfAChunkRejectedForItsContent() throws Exception {
+        StubHubspotClient client = new StubHubspotClient(body -> {
+            throw StubHubspotClient.rejection(400, """
+                {"status":"error","message":"Invalid input JSON on line 1","category":"VALIDATION_ERROR"}""");
+        });
+        Queue<String> archived = new ConcurrentLinkedQueue<>();
+
+        List<Map<String, Object>> failures = task().archiveChunk(runContextFactory.of(), client, BATCH_URI, "portal", List.of("1", "2"), archived);
+
+        assertThat(failures, hasSize(2));
+        assertThat(failures.get(0), hasEntry("id", "1"));
+        assertThat(failures.get(1), hasEntry("id", "2"));
+        assertThat((String) failures.get(1).get("message"), containsString("Invalid input JSON"));
+        assertThat(archived, is(empty()));
+    }
+
+    @Test
+    void shouldReportEveryIdOfAChunkNotFound() throws Exception {
+        StubHubspotClient client = new StubHubspotClient(body -> {
+            throw StubHubspotClient.rejection(404, """
+                {"status":"error","message":"resource not found","category":"OBJECT_NOT_FOUND"}""");
+        });
+        Queue<String> archived = new ConcurrentLinkedQueue<>();
+
+        List<Map<String, Object>> failures = task().archiveChunk(runContextFactory.of(), client, BATCH_URI, "portal", List.of("1"), archived);
+
+        assertThat(failures, hasSize(1));
+        assertThat(failures.getFirst(), hasEntry("id", "1"));
+        assertThat(archived, is(empty()));
+    }
+
+    @Test
+    void shouldFailWhenChunkIsNotRejectedForItsContent() {
+        StubHubspotClient client = new StubHubspotClient(body -> {
+            throw StubHubspotClient.rejection(401, """
+                {"status":"error","message":"Authentication credentials not found","category":"INVALID_AUTHENTICATION"}""");
+        });
+        Queue<String> archived = new ConcurrentLinkedQueue<>();
+
+        HubspotException e = assertThrows(HubspotException.class,
+            () -> task().archiveChunk(runContextFactory.of(), client, BATCH_URI, "portal", List.of("1"), archived));
+
+        assertThat(e.getStatusCode(), is(401));
+        assertThat(archived, is(empty()));
+    }
+
+    private static BatchArchive task() {
+        return BatchArchive.builder()
+            .apiKey(Property.ofValue("token"))
+            .build();
+    }
+}
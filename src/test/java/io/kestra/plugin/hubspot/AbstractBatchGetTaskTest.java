@@ -0,0 +1,92 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.hubspot.contacts.BatchGet;
+
+import jakarta.inject.Inject;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+@KestraTest
+class AbstractBatchGetTaskTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldReportEveryIdOfAMultiStatusError() throws Exception {
+        HubspotBatchResponse response = JacksonMapper.ofJson().readValue("""
+            {
+              "status": "COMPLETE",
+              "results": [{"id": "1", "properties": {"email": "a@example.com"}}],
+              "numErrors": 1,
+              "errors": [{
+                "status": "error",
+                "category": "OBJECT_NOT_FOUND",
+                "message": "Could not get some CONTACT objects, they may be deleted or not exist.",
+                "context": {"ids": ["2", "3"]}
+              }]
+            }
+            """, HubspotBatchResponse.class);
+
+        List<Map<String, Object>> missing = AbstractBatchGetTask.missing(response);
+
+        assertThat(missing, hasSize(2));
+        assertThat(missing.getFirst(), hasEntry("id", "2"));
+        assertThat(missing.get(1), hasEntry("id", "3"));
+        assertThat(missing.get(1), hasEntry("category", "OBJECT_NOT_FOUND"));
+    }
+
+    @Test
+    void shouldReportErrorWithoutContextOnce() throws Exception {
+        HubspotBatchResponse response = JacksonMapper.ofJson().readValue("""
+            {"errors": [{"category": "VALIDATION_ERROR", "message": "Invalid idProperty"}]}
+            """, HubspotBatchResponse.class);
+
+        List<Map<String, Object>> missing = AbstractBatchGetTask.missing(response);
+
+        assertThat(missing, hasSize(1));
+        assertThat(missing.getFirst().get("id"), is(nullValue()));
+        assertThat(AbstractBatchGetTask.missing(new HubspotBatchResponse()), hasSize(0));
+    }
+
+    @Test
+    void shouldSendIdPropertyAndPropertiesWithEveryChunk() {
+        Map<String, Object> body = AbstractBatchGetTask.requestBody(List.of("a@example.com"), List.of("firstname"), "email");
+
+        assertThat(body, hasEntry("idProperty", "email"));
+        assertThat(body, hasEntry("properties", List.of("firstname")));
+        assertThat(body, hasEntry("inputs", List.of(Map.of("id", "a@example.com"))));
+        assertThat(AbstractBatchGetTask.requestBody(List.of("1"), List.of(), null), not(hasEntry("properties", List.of())));
+    }
+
+    @Test
+    void shouldSplitIdsIntoChunksInOrder() throws Exception {
+        BatchGet task = BatchGet.builder()
+            .apiKey(Property.ofValue("token"))
+            .chunkSize(Property.ofValue(2))
+            .build();
+
+        List<List<String>> chunks = task.processChunks(
+            runContextFactory.of(),
+            Flux.just("1", "2", "3", "4", "5"),
+            chunk -> List.of(List.copyOf(chunk))
+        ).collectList().block();
+
+        assertThat(chunks, is(List.of(List.of("1", "2"), List.of("3", "4"), List.of("5"))));
+    }
+}
@@ -0,0 +1,93 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hubspot.contacts.BatchUpdate;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+class AbstractBatchUpdateTaskTest {
+
+    private static final URI BATCH_URI = URI.create("https://api.hubapi.com/crm/v3/objects/contacts/batch/update");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOnlySendRowsThatChangeSomething() throws Exception {
+        StubHubspotClient client = new StubHubspotClient(body -> {
+            List<Map<String, Object>> inputs = (List<Map<String, Object>>) body.get("inputs");
+
+            // the batch read of the current values names the properties to return
+            if (body.containsKey("properties")) {
+                return Map.of("results", List.of(
+                    Map.of("id", "1", "properties", Map.of("firstname", "Ada", "hs_object_id", "1")),
+                    Map.of("id", "2", "properties", Map.of("firstname", "Grace", "hs_object_id", "2"))
+                ));
+            }
+            return Map.of("results", inputs.stream()
+                .map(input -> Map.of("id", input.get("id"), "objectWriteTraceId", input.get("objectWriteTraceId")))
+                .toList());
+        });
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(true, client, List.of(
+            input(0, "1", "Ada"),
+            input(1, "2", "Hopper")
+        ));
+
+        assertThat(outcomes, hasSize(2));
+        assertThat(outcomes.getFirst().skipped(), is(true));
+        assertThat(outcomes.getFirst().record(), hasEntry("skipped", true));
+        assertThat(outcomes.getFirst().record(), hasEntry("index", 0L));
+        assertThat(outcomes.get(1).skipped(), is(false));
+        assertThat(outcomes.get(1).record(), hasEntry("id", "2"));
+
+        assertThat(client.requests, hasSize(2));
+        assertThat(client.requests.getFirst().get("properties"), is(List.of("firstname")));
+        assertThat((List<?>) client.requests.get(1).get("inputs"), hasSize(1));
+    }
+
+    @Test
+    void shouldNotReadCurrentValuesUnlessAsked() throws Exception {
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> Map.of("results", inputs.stream()
+            .map(input -> Map.of("id", input.get("id"), "objectWriteTraceId", input.get("objectWriteTraceId")))
+            .toList()));
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(false, client, List.of(input(0, "1", "Ada")));
+
+        assertThat(outcomes.getFirst().skipped(), is(false));
+        assertThat(client.requests, hasSize(1));
+    }
+
+    private List<AbstractBatchWriteTask.Outcome> writeChunk(boolean skipIfUnchanged, StubHubspotClient client,
+                                                            List<AbstractBatchWriteTask.BatchInput> inputs) throws Exception {
+        BatchUpdate task = BatchUpdate.builder()
+            .apiKey(Property.ofValue("token"))
+            .skipIfUnchanged(Property.ofValue(skipIfUnchanged))
+            .build();
+
+        return task.writeChunk(runContextFactory.of(), client, BATCH_URI, RetryPolicy.NONE, inputs, result -> Map.of("id", result.getId()));
+    }
+
+    private static AbstractBatchWriteTask.BatchInput input(long index, String id, String firstname) {
+        return AbstractBatchWriteTask.BatchInput.of(
+            index,
+            Map.of("id", id, "properties", Map.of("firstname", firstname)),
+            row -> Map.of("id", row.get("id"), "properties", row.get("properties"))
+        );
+    }
+}
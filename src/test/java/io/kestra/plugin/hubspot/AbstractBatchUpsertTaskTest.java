@@ -0,0 +1,113 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hubspot.contacts.BatchUpsert;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class AbstractBatchUpsertTaskTest {
+
+    private static final String TRACE_ID = AbstractBatchWriteTask.TRACE_ID;
+
+    private static final URI BATCH_URI = URI.create("https://api.hubapi.com/crm/v3/objects/contacts/batch/upsert");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldMatchOnThePropertyValueOfTheRow() {
+        Map<String, Object> input = task().toInput("email", Map.of("id", "123", "email", "a@example.com", "firstName", "Ada"));
+
+        assertThat(input, hasEntry("idProperty", "email"));
+        assertThat(input, hasEntry("id", "a@example.com"));
+        assertThat(input, hasEntry("properties", Map.of("email", "a@example.com", "firstname", "Ada")));
+    }
+
+    @Test
+    void shouldFallBackToARowFieldNamedAfterTheProperty() {
+        Map<String, Object> input = task().toInput("external_id", Map.of("id", "123", "external_id", 42, "email", "a@example.com"));
+
+        assertThat(input, hasEntry("idProperty", "external_id"));
+        assertThat(input, hasEntry("id", "42"));
+    }
+
+    @Test
+    void shouldRejectRowWithoutValueForTheProperty() {
+        // the record ID of the row is not a value of the unique property
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> task().toInput("external_id", Map.of("id", "123", "email", "a@example.com")));
+
+        assertThat(e.getMessage(), is("Row has no value for 'external_id'"));
+    }
+
+    @Test
+    void shouldOnlyCountRecordsHubspotCreated() {
+        AtomicLong created = new AtomicLong();
+
+        Map<String, Object> first = AbstractBatchUpsertTask.toRecord(result("1", true), created);
+        Map<String, Object> second = AbstractBatchUpsertTask.toRecord(result("2", false), created);
+        Map<String, Object> third = AbstractBatchUpsertTask.toRecord(result("3", null), created);
+
+        assertThat(first, hasEntry("created", true));
+        assertThat(second, hasEntry("created", false));
+        assertThat(third, hasEntry("created", false));
+        assertThat(created.get(), is(1L));
+    }
+
+    @Test
+    void shouldReadCreatedFlagFromTheBatchResponse() throws Exception {
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> Map.of(
+            "status", "COMPLETE",
+            "results", inputs.stream().map(input -> {
+                Map<String, Object> result = new HashMap<>();
+                result.put("id", "record-" + input.get(TRACE_ID));
+                result.put(TRACE_ID, input.get(TRACE_ID));
+                result.put("new", "0".equals(input.get(TRACE_ID)));
+                return result;
+            }).toList()
+        ));
+
+        BatchUpsert task = task();
+        AtomicLong created = new AtomicLong();
+        List<AbstractBatchWriteTask.BatchInput> inputs = List.of(
+            AbstractBatchWriteTask.BatchInput.of(0, Map.of("email", "a@example.com"), row -> task.toInput("email", row)),
+            AbstractBatchWriteTask.BatchInput.of(1, Map.of("email", "b@example.com"), row -> task.toInput("email", row))
+        );
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = task.writeChunk(runContextFactory.of(), client, BATCH_URI, RetryPolicy.NONE, inputs,
+            result -> AbstractBatchUpsertTask.toRecord(result, created));
+
+        assertThat(outcomes.get(0).record(), hasEntry("created", true));
+        assertThat(outcomes.get(1).record(), hasEntry("created", false));
+        assertThat(created.get(), is(1L));
+    }
+
+    private static HubspotBatchResponse.Result result(String id, Boolean created) {
+        HubspotBatchResponse.Result result = new HubspotBatchResponse.Result();
+        result.setId(id);
+        result.setCreated(created);
+        return result;
+    }
+
+    private static BatchUpsert task() {
+        return BatchUpsert.builder()
+            .apiKey(Property.ofValue("token"))
+            .build();
+    }
+}
@@ -0,0 +1,242 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.hubspot.contacts.BatchCreate;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class AbstractBatchWriteTaskTest {
+
+    private static final String TRACE_ID = AbstractBatchWriteTask.TRACE_ID;
+
+    private static final URI BATCH_URI = URI.create("https://api.hubapi.com/crm/v3/objects/contacts/batch/create");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldMapResultsAndErrorsByTraceId() throws Exception {
+        // results come back in another order than the inputs, and without record ID to match on
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> Map.of(
+            "status", "COMPLETE",
+            "results", List.of(
+                Map.of("id", "102", TRACE_ID, "2"),
+                Map.of("id", "100", TRACE_ID, "0")
+            ),
+            "errors", List.of(Map.of(
+                "status", "error",
+                "category", "VALIDATION_ERROR",
+                "message", "Property values were not valid",
+                "context", Map.of(TRACE_ID, List.of("1")),
+                "errors", List.of(Map.of("code", "INVALID_EMAIL", "message", "Email address b@ is invalid"))
+            ))
+        ));
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(client, inputs("a@example.com", "b@", "c@example.com"));
+
+        assertThat(outcomes, hasSize(3));
+        assertThat(outcomes.get(0).record(), hasEntry("id", "100"));
+        assertThat(outcomes.get(0).record(), hasEntry("index", 0L));
+        assertThat(outcomes.get(1).record(), is(nullValue()));
+        assertThat(outcomes.get(1).error(), hasEntry("index", 1L));
+        assertThat(outcomes.get(1).error(), hasEntry("code", "INVALID_EMAIL"));
+        assertThat(outcomes.get(2).record(), hasEntry("id", "102"));
+        assertThat(outcomes.get(2).record(), hasEntry("index", 2L));
+        assertThat(client.requests, hasSize(1));
+    }
+
+    @Test
+    void shouldOnlyRetryCreatedItemsHubspotDidNotProcess() throws Exception {
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+            .maxAttempts(3)
+            .baseDelay(Duration.ZERO)
+            .maxDelay(Duration.ZERO)
+            .jitter(0)
+            .maxDuration(Duration.ZERO)
+            .build();
+
+        // the first attempt times out on one item, which may have been created anyway, and is rate limited on another
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> {
+            if (inputs.size() == 1) {
+                return created(inputs);
+            }
+            return Map.of(
+                "status", "COMPLETE",
+                "errors", List.of(
+                    Map.of("status", "error", "category", "TIMEOUT", "message", "Timed out", "context", Map.of(TRACE_ID, List.of("0"))),
+                    Map.of("status", "error", "category", "RATE_LIMITS", "message", "Too many requests", "context", Map.of(TRACE_ID, List.of("1")))
+                )
+            );
+        });
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(client, inputs("a@example.com", "b@example.com"), retryPolicy);
+
+        assertThat(outcomes.get(0).error(), hasEntry("code", "TIMEOUT"));
+        assertThat(outcomes.get(1).record(), hasEntry("id", "record-1"));
+        assertThat(client.requests, hasSize(2));
+    }
+
+    @Test
+    void shouldReportInputsMissingFromAMultiStatusResponse() throws Exception {
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> Map.of(
+            "status", "COMPLETE",
+            "results", List.of(Map.of("id", "100", TRACE_ID, "0"))
+        ));
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(client, inputs("a@example.com", "b@example.com"));
+
+        assertThat(outcomes.get(0).record(), hasEntry("id", "100"));
+        assertThat(outcomes.get(1).error(), hasEntry("code", "NO_RESULT"));
+    }
+
+    @Test
+    void shouldIsolateRowsSharingTheSameBadValue() throws Exception {
+        // both halves of the first split are rejected with the very same error, yet each holds a valid row
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> {
+            if (inputs.stream().anyMatch(input -> "bad".equals(properties(input).get("email")))) {
+                throw StubHubspotClient.rejection(400, """
+                    {"status":"error","message":"Property values were not valid","category":"VALIDATION_ERROR",\
+                    "errors":[{"message":"Email address bad is invalid","code":"INVALID_EMAIL"}]}""");
+            }
+            return created(inputs);
+        });
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(client, inputs("a@example.com", "bad", "bad", "d@example.com"));
+
+        assertThat(outcomes, hasSize(4));
+        assertThat(outcomes.get(0).record(), hasEntry("id", "record-0"));
+        assertThat(outcomes.get(1).error(), hasEntry("status", 400));
+        assertThat(outcomes.get(1).error(), hasEntry("code", "INVALID_EMAIL"));
+        assertThat(outcomes.get(2).error(), hasEntry("index", 2L));
+        assertThat(outcomes.get(3).record(), hasEntry("id", "record-3"));
+    }
+
+    @Test
+    void shouldFailEveryRowSettingAnUnknownPropertyAtOnce() throws Exception {
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> {
+            throw StubHubspotClient.rejection(400, """
+                {"status":"error","message":"Property values were not valid","category":"VALIDATION_ERROR",\
+                "errors":[{"message":"Property \\"favorite_color\\" does not exist","code":"PROPERTY_DOESNT_EXIST",\
+                "context":{"propertyName":["favorite_color"]}}]}""");
+        });
+
+        List<AbstractBatchWriteTask.BatchInput> inputs = List.of(
+            input(0, Map.of("email", "a@example.com", "favorite_color", "blue")),
+            input(1, Map.of("email", "b@example.com", "favorite_color", "red")),
+            input(2, Map.of("email", "c@example.com", "favorite_color", "green"))
+        );
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(client, inputs);
+
+        assertThat(outcomes, hasSize(3));
+        assertThat(outcomes.stream().allMatch(outcome -> outcome.error() != null), is(true));
+        assertThat(outcomes.get(2).error(), hasEntry("code", "PROPERTY_DOESNT_EXIST"));
+        assertThat(client.requests, hasSize(1));
+    }
+
+    @Test
+    void shouldSplitWhenOnlySomeRowsSetTheUnknownProperty() throws Exception {
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> {
+            if (inputs.stream().anyMatch(input -> properties(input).containsKey("favorite_color"))) {
+                throw StubHubspotClient.rejection(400, """
+                    {"status":"error","message":"Property values were not valid",\
+                    "errors":[{"message":"Property \\"favorite_color\\" does not exist","code":"PROPERTY_DOESNT_EXIST"}]}""");
+            }
+            return created(inputs);
+        });
+
+        List<AbstractBatchWriteTask.BatchInput> inputs = List.of(
+            input(0, Map.of("email", "a@example.com", "favorite_color", "blue")),
+            input(1, Map.of("email", "b@example.com"))
+        );
+
+        List<AbstractBatchWriteTask.Outcome> outcomes = writeChunk(client, inputs);
+
+        assertThat(outcomes.get(0).error(), hasEntry("code", "PROPERTY_DOESNT_EXIST"));
+        assertThat(outcomes.get(1).record(), hasEntry("id", "record-1"));
+    }
+
+    @Test
+    void shouldFailWithStatusWhenBatchIsNotRejectedForItsContent() {
+        StubHubspotClient client = StubHubspotClient.batch(inputs -> {
+            throw StubHubspotClient.rejection(401, """
+                {"status":"error","message":"Authentication credentials not found","category":"INVALID_AUTHENTICATION"}""");
+        });
+
+        HubspotException e = assertThrows(HubspotException.class, () -> writeChunk(client, inputs("a@example.com")));
+
+        assertThat(e.getStatusCode(), is(401));
+        assertThat(e.isInputError(), is(false));
+    }
+
+    @Test
+    void shouldReadUnknownPropertiesFromMessageWhenContextIsMissing() throws Exception {
+        HubspotConnection.HubspotErrorResponse error = JacksonMapper.ofJson().readValue("""
+            {"errors":[{"message":"Property \\"favorite_color\\" does not exist","code":"PROPERTY_DOESNT_EXIST"}]}
+            """, HubspotConnection.HubspotErrorResponse.class);
+        HubspotConnection.HubspotErrorResponse mixed = JacksonMapper.ofJson().readValue("""
+            {"errors":[{"message":"Property \\"favorite_color\\" does not exist","code":"PROPERTY_DOESNT_EXIST"},\
+            {"message":"Email address bad is invalid","code":"INVALID_EMAIL"}]}
+            """, HubspotConnection.HubspotErrorResponse.class);
+
+        assertThat(AbstractBatchWriteTask.unknownProperties(error), is(Set.of("favorite_color")));
+        assertThat(AbstractBatchWriteTask.unknownProperties(mixed), is(Set.of()));
+        assertThat(AbstractBatchWriteTask.unknownProperties(null), is(Set.of()));
+    }
+
+    private List<AbstractBatchWriteTask.Outcome> writeChunk(StubHubspotClient client, List<AbstractBatchWriteTask.BatchInput> inputs) throws Exception {
+        return writeChunk(client, inputs, RetryPolicy.NONE);
+    }
+
+    private List<AbstractBatchWriteTask.Outcome> writeChunk(StubHubspotClient client, List<AbstractBatchWriteTask.BatchInput> inputs, RetryPolicy retryPolicy) throws Exception {
+        BatchCreate task = BatchCreate.builder()
+            .apiKey(Property.ofValue("token"))
+            .build();
+
+        return task.writeChunk(runContextFactory.of(), client, BATCH_URI, retryPolicy, inputs, result -> Map.of("id", result.getId()));
+    }
+
+    private static List<AbstractBatchWriteTask.BatchInput> inputs(String... emails) {
+        List<AbstractBatchWriteTask.BatchInput> inputs = new ArrayList<>();
+        for (int i = 0; i < emails.length; i++) {
+            inputs.add(input(i, Map.of("email", emails[i])));
+        }
+        return inputs;
+    }
+
+    private static AbstractBatchWriteTask.BatchInput input(long index, Map<String, Object> properties) {
+        return AbstractBatchWriteTask.BatchInput.of(index, properties, row -> Map.of("properties", row));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> properties(Map<String, Object> input) {
+        return (Map<String, Object>) input.get("properties");
+    }
+
+    private static Map<String, Object> created(List<Map<String, Object>> inputs) {
+        return Map.of(
+            "status", "COMPLETE",
+            "results", inputs.stream().map(input -> Map.of("id", "record-" + input.get(TRACE_ID), TRACE_ID, input.get(TRACE_ID))).toList()
+        );
+    }
+}
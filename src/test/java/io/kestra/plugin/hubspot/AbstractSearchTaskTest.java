@@ -0,0 +1,182 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.hubspot.contacts.Search;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class AbstractSearchTaskTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldCreateKeysetGroupWhenNoFilterGroups() {
+        List<Map<String, Object>> groups = AbstractSearchTask.withObjectIdAfter(null, "1200");
+
+        assertThat(groups, hasSize(1));
+        assertThat(groups.getFirst().get("filters"), is(List.of(Map.of(
+            "propertyName", "hs_object_id",
+            "operator", "GT",
+            "value", "1200"
+        ))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAppendKeysetFilterToEveryGroupWithoutTouchingOriginal() {
+        Map<String, Object> lifecycle = Map.of("propertyName", "lifecyclestage", "operator", "EQ", "value", "lead");
+        Map<String, Object> country = Map.of("propertyName", "country", "operator", "EQ", "value", "FR");
+        List<Map<String, Object>> original = List.of(
+            Map.of("filters", List.of(lifecycle)),
+            Map.of("filters", List.of(country))
+        );
+
+        List<Map<String, Object>> groups = AbstractSearchTask.withObjectIdAfter(original, "42");
+
+        assertThat(groups, hasSize(2));
+        for (Map<String, Object> group : groups) {
+            List<Map<String, Object>> filters = (List<Map<String, Object>>) group.get("filters");
+            assertThat(filters, hasSize(2));
+            assertThat(filters.get(1).get("value"), is("42"));
+        }
+        assertThat((List<?>) original.getFirst().get("filters"), hasSize(1));
+    }
+
+    @Test
+    void shouldSplitRangeIntoContiguousShards() {
+        List<AbstractSearchTask.Range> ranges = AbstractSearchTask.shardRanges(100, 199, 10_000, 100, 4);
+
+        assertThat(ranges, hasSize(4));
+        assertThat(ranges.getFirst().from(), is(100L));
+        assertThat(ranges.getLast().to(), is(200L));
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).from(), is(ranges.get(i - 1).to()));
+        }
+    }
+
+    @Test
+    void shouldNotCreateMoreShardsThanPages() {
+        assertThat(AbstractSearchTask.shardRanges(1, 1_000_000, 150, 100, 8), hasSize(2));
+        assertThat(AbstractSearchTask.shardRanges(5, 5, 1, 100, 8), is(List.of(new AbstractSearchTask.Range(5, 6))));
+    }
+
+    @Test
+    void shouldMergeShardFilesInRangeOrder() throws Exception {
+        File first = Files.createTempFile("shard", ".ion").toFile();
+        File second = Files.createTempFile("shard", ".ion").toFile();
+        File merged = Files.createTempFile("merged", ".ion").toFile();
+        Files.writeString(first.toPath(), "{id:\"1\"}\n");
+        Files.writeString(second.toPath(), "{id:\"2\"}\n");
+
+        AbstractSearchTask.concat(List.of(first, second), merged);
+
+        assertThat(Files.readString(merged.toPath()), is("{id:\"1\"}\n{id:\"2\"}\n"));
+        assertThat(first.exists(), is(false));
+        assertThat(second.exists(), is(false));
+    }
+
+    @Test
+    void shouldRejectIncrementalSearchNotReturningEveryRecord() {
+        for (FetchType fetchType : List.of(FetchType.FETCH_ONE, FetchType.NONE)) {
+            Search task = Search.builder()
+                .apiKey(Property.ofValue("token"))
+                .fetchAllPages(Property.ofValue(true))
+                .pagination(Property.ofValue(AbstractSearchTask.Pagination.KEYSET))
+                .incremental(Property.ofValue(true))
+                .fetchType(Property.ofValue(fetchType))
+                .build();
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> task.run(runContextFactory.of()));
+
+            assertThat(e.getMessage(), containsString("fetchType"));
+        }
+    }
+
+    @Test
+    void shouldReturnEveryRecordInlineWithFetch() throws Exception {
+        StubHubspotClient client = searchClient();
+
+        AbstractSearchTask.Output output = search(FetchType.FETCH).run(runContextFactory.of(), client);
+
+        assertThat(output.getTotal(), is(3));
+        assertThat(output.getRows(), hasSize(3));
+        assertThat(output.getRows().get(2).get("hs_object_id"), is("3"));
+        assertThat(output.getRow(), is(nullValue()));
+        assertThat(output.getUri(), is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnFirstRecordInlineWithFetchOne() throws Exception {
+        StubHubspotClient client = searchClient();
+
+        AbstractSearchTask.Output output = search(FetchType.FETCH_ONE).run(runContextFactory.of(), client);
+
+        assertThat(output.getTotal(), is(3));
+        assertThat(output.getRow().get("hs_object_id"), is("1"));
+        assertThat(output.getRows(), is(nullValue()));
+        assertThat(output.getUri(), is(nullValue()));
+    }
+
+    @Test
+    void shouldOnlyCountRecordsWithNone() throws Exception {
+        StubHubspotClient client = searchClient();
+
+        AbstractSearchTask.Output output = search(FetchType.NONE).run(runContextFactory.of(), client);
+
+        assertThat(output.getTotal(), is(3));
+        assertThat(output.getRows(), is(nullValue()));
+        assertThat(output.getRow(), is(nullValue()));
+        assertThat(output.getUri(), is(nullValue()));
+    }
+
+    @Test
+    void shouldStoreRecordsWithStore() throws Exception {
+        StubHubspotClient client = searchClient();
+
+        AbstractSearchTask.Output output = search(FetchType.STORE).run(runContextFactory.of(), client);
+
+        assertThat(output.getTotal(), is(3));
+        assertThat(output.getUri(), is(notNullValue()));
+        assertThat(output.getRows(), is(nullValue()));
+        assertThat(output.getRow(), is(nullValue()));
+    }
+
+    private static Search search(FetchType fetchType) {
+        return Search.builder()
+            .apiKey(Property.ofValue("token"))
+            .fetchType(Property.ofValue(fetchType))
+            .build();
+    }
+
+    // a single page of three records, with no cursor to a next page
+    private static StubHubspotClient searchClient() {
+        return new StubHubspotClient(body -> Map.of(
+            "total", 3,
+            "results", List.of(
+                Map.of("id", "1", "properties", Map.of("hs_object_id", "1", "firstname", "Ada")),
+                Map.of("id", "2", "properties", Map.of("hs_object_id", "2", "firstname", "Grace")),
+                Map.of("id", "3", "properties", Map.of("hs_object_id", "3", "firstname", "Edsger"))
+            )
+        ));
+    }
+}
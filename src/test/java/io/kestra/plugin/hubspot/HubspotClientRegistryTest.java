@@ -0,0 +1,116 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.HttpClientException;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class HubspotClientRegistryTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldReuseReleasedClientForSameKey() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        HubspotClientRegistry registry = new HubspotClientRegistry(Duration.ofMinutes(5), 4);
+
+        HubspotClientRegistry.Lease first = registry.acquire("portal-a", () -> new HttpClient(runContext, null));
+        registry.release(first);
+        HubspotClientRegistry.Lease second = registry.acquire("portal-a", () -> new HttpClient(runContext, null));
+
+        assertThat(first.isHit(), is(false));
+        assertThat(second.isHit(), is(true));
+        assertThat(second.getClient(), sameInstance(first.getClient()));
+        assertThat(registry.getHits().get(), is(1L));
+        assertThat(registry.getMisses().get(), is(1L));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedIdleClientWhenFull() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        HubspotClientRegistry registry = new HubspotClientRegistry(Duration.ofMinutes(5), 1);
+
+        registry.release(registry.acquire("portal-a", () -> new HttpClient(runContext, null)));
+        HubspotClientRegistry.Lease lease = registry.acquire("portal-b", () -> new HttpClient(runContext, null));
+
+        assertThat(lease.getEvicted(), is(1));
+        assertThat(registry.getEvictions().get(), is(1L));
+        assertThat(registry.size(), is(1));
+    }
+
+    @Test
+    void shouldHandOutPrivateClientWhenAllEntriesAreLeased() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        HubspotClientRegistry registry = new HubspotClientRegistry(Duration.ofMinutes(5), 1);
+
+        HubspotClientRegistry.Lease held = registry.acquire("portal-a", () -> new HttpClient(runContext, null));
+        HubspotClientRegistry.Lease overflow = registry.acquire("portal-b", () -> new HttpClient(runContext, null));
+
+        assertThat(overflow.getKey(), is(nullValue()));
+        assertThat(overflow.getClient(), not(sameInstance(held.getClient())));
+        assertThat(registry.size(), is(1));
+    }
+
+    @Test
+    void shouldCloseIdleClientsAfterTimeout() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        HubspotClientRegistry registry = new HubspotClientRegistry(Duration.ZERO, 4);
+
+        registry.release(registry.acquire("portal-a", () -> new HttpClient(runContext, null)));
+
+        assertThat(registry.size(), is(0));
+        assertThat(registry.getEvictions().get(), is(1L));
+    }
+
+    @Test
+    void shouldReportPooledClientUseToTheBorrowingRun() throws Exception {
+        String key = "portal-" + UUID.randomUUID();
+        RunContext opening = runContextFactory.of();
+        RunContext borrowing = runContextFactory.of();
+        // nothing listens there, the request fails right after the client is leased
+        HttpRequest request = HttpRequest.builder()
+            .uri(URI.create("http://127.0.0.1:1/crm/v3/objects/contacts/1"))
+            .method("GET")
+            .build();
+
+        for (RunContext runContext : List.of(opening, borrowing)) {
+            try (HubspotClient client = HubspotClient.builder().runContext(runContext).registryKey(key).build()) {
+                assertThrows(HttpClientException.class, () -> client.request(request, Map.class));
+            }
+        }
+
+        assertThat(counter(opening, "client.registry.misses"), is(1.0));
+        assertThat(counter(opening, "client.registry.hits"), is(0.0));
+        assertThat(counter(borrowing, "client.registry.hits"), is(1.0));
+        assertThat(counter(borrowing, "client.registry.misses"), is(0.0));
+    }
+
+    private static double counter(RunContext runContext, String name) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric instanceof Counter && metric.getName().equals(name))
+            .mapToDouble(metric -> ((Counter) metric).getValue())
+            .sum();
+    }
+}
@@ -10,6 +10,8 @@ import io.kestra.core.junit.annotations.KestraTest;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 
 @KestraTest
@@ -123,4 +125,13 @@ class HubspotConnectionTest {
 
         assertThat(result.getMessage(), containsString("HubSpot API error"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldKeepStatusCode() throws Exception {
+        RuntimeException result = invokeClean(fakeException("{\"status\":\"error\",\"message\":\"Invalid input\"}"));
+
+        assertThat(result, instanceOf(HubspotException.class));
+        assertThat(((HubspotException) result).getStatusCode(), is(400));
+        assertThat(((HubspotException) result).isNotFound(), is(false));
+    }
+}
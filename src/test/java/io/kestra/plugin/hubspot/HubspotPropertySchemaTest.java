@@ -0,0 +1,123 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HubspotPropertySchemaTest {
+
+    private static final String PROPERTIES = """
+        {"results": [
+          {"name": "name", "type": "string", "fieldType": "text"},
+          {"name": "numberofemployees", "type": "number", "fieldType": "number"},
+          {"name": "is_public", "type": "bool", "fieldType": "booleancheckbox"},
+          {"name": "founded", "type": "date", "fieldType": "date"},
+          {"name": "signed_at", "type": "datetime", "fieldType": "date"},
+          {"name": "industry", "type": "enumeration", "fieldType": "select", "options": [
+            {"label": "Accounting", "value": "ACCOUNTING"},
+            {"label": "Computer Software", "value": "COMPUTER_SOFTWARE"}
+          ]},
+          {"name": "regions", "type": "enumeration", "fieldType": "checkbox", "options": [
+            {"label": "Europe", "value": "emea"},
+            {"label": "Americas", "value": "amer"}
+          ]},
+          {"name": "hubspot_owner_id", "type": "enumeration", "fieldType": "select", "externalOptions": true, "options": []},
+          {"name": "hs_object_id", "type": "number", "fieldType": "number", "modificationMetadata": {"readOnlyValue": true}}
+        ]}
+        """;
+
+    private static List<HubspotPropertySchema.Definition> definitions() throws Exception {
+        return JacksonMapper.ofJson().readValue(PROPERTIES, HubspotPropertySchema.PropertiesResponse.class).getResults();
+    }
+
+    private static HubspotPropertySchema schema() throws Exception {
+        return new HubspotPropertySchema(definitions());
+    }
+
+    @Test
+    void shouldCoerceValuesToHubspotFormats() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Kestra");
+        properties.put("numberofemployees", " 120 ");
+        properties.put("is_public", "Yes");
+        properties.put("founded", "2019-06-01T10:00:00Z");
+        properties.put("signed_at", 1704067200000L);
+        properties.put("industry", "computer software");
+        properties.put("regions", "Europe; amer");
+        properties.put("hubspot_owner_id", "12345");
+
+        Map<String, Object> coerced = schema().validate(properties);
+
+        assertThat(coerced.get("name"), is("Kestra"));
+        assertThat(coerced.get("numberofemployees"), is("120"));
+        assertThat(coerced.get("is_public"), is("true"));
+        assertThat(coerced.get("founded"), is("2019-06-01"));
+        assertThat(coerced.get("signed_at"), is("2024-01-01T00:00:00Z"));
+        assertThat(coerced.get("industry"), is("COMPUTER_SOFTWARE"));
+        assertThat(coerced.get("regions"), is("emea;amer"));
+        assertThat(coerced.get("hubspot_owner_id"), is("12345"));
+    }
+
+    @Test
+    void shouldKeepEmptyValuesToClearProperties() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("industry", "");
+        properties.put("founded", null);
+
+        Map<String, Object> coerced = schema().validate(properties);
+
+        assertThat(coerced.get("industry"), is(""));
+        assertThat(coerced.get("founded"), nullValue());
+    }
+
+    @Test
+    void shouldReportEveryInvalidValue() throws Exception {
+        Map<String, Object> properties = Map.of(
+            "industry", "Developer",
+            "numberofemployees", "many",
+            "is_public", "maybe",
+            "hs_object_id", "1",
+            "descripton", "typo"
+        );
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> schema().validate(properties));
+
+        assertThat(e.getMessage(), containsString("'Developer' is not one of the allowed options: \"ACCOUNTING\", \"COMPUTER_SOFTWARE\""));
+        assertThat(e.getMessage(), containsString("'many' is not a number"));
+        assertThat(e.getMessage(), containsString("'maybe' is not a boolean"));
+        assertThat(e.getMessage(), containsString("property 'hs_object_id' is read-only"));
+        assertThat(e.getMessage(), containsString("unknown property 'descripton'"));
+    }
+
+    @Test
+    void shouldReloadOnceForAPropertyCreatedSinceCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        HubspotPropertySchema.Loader loader = () -> {
+            loads.incrementAndGet();
+            return definitions();
+        };
+
+        HubspotPropertySchema cached = HubspotPropertySchema.of("reload", "companies", Duration.ofMinutes(10), loader);
+        assertThat(HubspotPropertySchema.of("reload", "companies", Duration.ofMinutes(10), loader), is(sameInstance(cached)));
+        assertThat(cached.knows(Set.of("name", "new_property")), is(false));
+
+        HubspotPropertySchema reloaded = HubspotPropertySchema.reload("reload", "companies", cached, loader);
+        // a run still holding the stale schema gets the one already reloaded
+        assertThat(HubspotPropertySchema.reload("reload", "companies", cached, loader), is(sameInstance(reloaded)));
+        assertThat(loads.get(), is(2));
+    }
+}
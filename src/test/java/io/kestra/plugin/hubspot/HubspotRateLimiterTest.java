@@ -0,0 +1,77 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.http.HttpHeaders;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+class HubspotRateLimiterTest {
+
+    @Test
+    void shouldLetBurstThroughWithoutWaiting() {
+        HubspotRateLimiter limiter = new HubspotRateLimiter(10, 10_000);
+
+        for (int i = 0; i < 9; i++) {
+            assertThat(limiter.reserve(), is(0L));
+        }
+    }
+
+    @Test
+    void shouldWaitOnceBurstIsExhausted() {
+        HubspotRateLimiter limiter = new HubspotRateLimiter(10, 10_000);
+
+        for (int i = 0; i < 9; i++) {
+            limiter.reserve();
+        }
+
+        assertThat(limiter.reserve(), greaterThan(0L));
+    }
+
+    @Test
+    void shouldFollowRemainingBudgetReportedByHubspot() {
+        HubspotRateLimiter limiter = new HubspotRateLimiter(100, 10_000);
+
+        HttpHeaders headers = HttpHeaders.of(Map.of(
+            HubspotRateLimiter.HEADER_MAX, List.of("100"),
+            HubspotRateLimiter.HEADER_INTERVAL, List.of("10000"),
+            HubspotRateLimiter.HEADER_REMAINING, List.of("1"),
+            HubspotRateLimiter.HEADER_DAILY_REMAINING, List.of("2500")
+        ), (name, value) -> true);
+
+        limiter.observe(headers);
+
+        assertThat(limiter.getRemaining(), is(1L));
+        assertThat(limiter.getDailyRemaining(), is(2500L));
+        assertThat(limiter.reserve(), greaterThan(0L));
+    }
+
+    @Test
+    void shouldIgnoreMissingHeaders() {
+        HubspotRateLimiter limiter = new HubspotRateLimiter(10, 10_000);
+
+        limiter.observe((HttpHeaders) null);
+
+        assertThat(limiter.getRemaining(), is(-1L));
+        assertThat(limiter.reserve(), is(0L));
+    }
+
+    @Test
+    void shouldDropIdleLimiters() {
+        // a map of its own, so that neither the worker-wide limiters nor their sweep schedule are touched
+        Map<String, HubspotRateLimiter> limiters = new HashMap<>();
+        limiters.put("idle-portal", new HubspotRateLimiter(10, 10_000));
+        long later = System.nanoTime() + HubspotRateLimiter.IDLE_TIMEOUT.multipliedBy(2).toNanos();
+
+        HubspotRateLimiter.evictIdle(limiters, System.nanoTime());
+        assertThat(limiters.size(), is(1));
+
+        HubspotRateLimiter.evictIdle(limiters, later);
+        assertThat(limiters.isEmpty(), is(true));
+    }
+}
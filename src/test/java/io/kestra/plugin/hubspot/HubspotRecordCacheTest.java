@@ -0,0 +1,112 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class HubspotRecordCacheTest {
+
+    @Test
+    void shouldServeStoredRecordForSamePropertySet() {
+        HubspotRecordCache cache = new HubspotRecordCache(10, () -> 0L);
+
+        cache.put("portal", "companies", "1", "domain,name", 1L, Map.of("name", "Kestra"), Duration.ofMinutes(1));
+
+        assertThat(cache.get("portal", "companies", "1", "domain,name").properties().get("name"), is("Kestra"));
+        assertThat(cache.get("portal", "companies", "1", "name"), nullValue());
+        assertThat(cache.get("other", "companies", "1", "domain,name"), nullValue());
+        assertThat(cache.getHits().get(), is(1L));
+        assertThat(cache.getMisses().get(), is(2L));
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        HubspotRecordCache cache = new HubspotRecordCache(10, now::get);
+
+        cache.put("portal", "contacts", "1", "", 1L, Map.of(), Duration.ofSeconds(1));
+        now.set(999);
+        assertThat(cache.get("portal", "contacts", "1", ""), notNullValue());
+
+        now.set(1000);
+        assertThat(cache.get("portal", "contacts", "1", ""), nullValue());
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedRecordWhenFull() {
+        HubspotRecordCache cache = new HubspotRecordCache(2, () -> 0L);
+
+        cache.put("portal", "deals", "1", "", 1L, Map.of(), Duration.ofMinutes(1));
+        cache.put("portal", "deals", "2", "", 2L, Map.of(), Duration.ofMinutes(1));
+        cache.get("portal", "deals", "1", "");
+        cache.put("portal", "deals", "3", "", 3L, Map.of(), Duration.ofMinutes(1));
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("portal", "deals", "1", ""), notNullValue());
+        assertThat(cache.get("portal", "deals", "2", ""), nullValue());
+    }
+
+    @Test
+    void shouldDropEveryPropertySetOnInvalidate() {
+        HubspotRecordCache cache = new HubspotRecordCache(10, () -> 0L);
+
+        cache.put("portal", "companies", "1", "", 1L, Map.of(), Duration.ofMinutes(1));
+        cache.put("portal", "companies", "1", "name", 1L, Map.of(), Duration.ofMinutes(1));
+        cache.invalidate("portal", "companies", "1");
+
+        assertThat(cache.get("portal", "companies", "1", ""), nullValue());
+        assertThat(cache.get("portal", "companies", "1", "name"), nullValue());
+    }
+
+    @Test
+    void shouldRememberNotFoundRecordsUntilFoundAgain() {
+        AtomicLong now = new AtomicLong();
+        HubspotRecordCache cache = new HubspotRecordCache(10, now::get);
+
+        cache.putNotFound("portal", "contacts", "1", Duration.ofSeconds(30));
+        assertThat(cache.isNotFound("portal", "contacts", "1"), is(true));
+        assertThat(cache.isNotFound("portal", "contacts", "2"), is(false));
+
+        now.set(30_000);
+        assertThat(cache.isNotFound("portal", "contacts", "1"), is(false));
+
+        cache.putNotFound("portal", "contacts", "1", Duration.ofSeconds(30));
+        cache.put("portal", "contacts", "1", "", 1L, Map.of(), Duration.ofMinutes(1));
+        assertThat(cache.isNotFound("portal", "contacts", "1"), is(false));
+    }
+
+    @Test
+    void shouldDropRecordLookedUpByUniquePropertyWhenItsRecordIdIsWritten() {
+        HubspotRecordCache cache = new HubspotRecordCache(10, () -> 0L);
+
+        // a Get by email, then a batch update reporting the record ID it changed
+        cache.put("portal", "contacts", "email:a@example.com", "", 42L, Map.of("firstname", "Ada"), Duration.ofMinutes(1));
+        cache.put("portal", "contacts", "42", "", 42L, Map.of("firstname", "Ada"), Duration.ofMinutes(1));
+        cache.invalidate("portal", "contacts", "42");
+
+        assertThat(cache.get("portal", "contacts", "email:a@example.com", ""), nullValue());
+        assertThat(cache.get("portal", "contacts", "42", ""), nullValue());
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void shouldForgetUniquePropertyKeyOnceItsEntryIsEvicted() {
+        HubspotRecordCache cache = new HubspotRecordCache(1, () -> 0L);
+
+        cache.put("portal", "contacts", "email:a@example.com", "", 42L, Map.of(), Duration.ofMinutes(1));
+        cache.put("portal", "contacts", "email:b@example.com", "", 43L, Map.of(), Duration.ofMinutes(1));
+        cache.put("portal", "contacts", "email:a@example.com", "", 44L, Map.of(), Duration.ofMinutes(1));
+        cache.invalidate("portal", "contacts", "42");
+
+        // the value now belongs to another record, which a write to the former one must not drop
+        assertThat(cache.get("portal", "contacts", "email:a@example.com", ""), notNullValue());
+    }
+}
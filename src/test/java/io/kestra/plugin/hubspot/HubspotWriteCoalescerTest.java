@@ -0,0 +1,178 @@
+package io.kestra.plugin.hubspot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HubspotWriteCoalescerTest {
+
+    @Test
+    void shouldSendConcurrentWritesAsOneBatchAndRouteResults() throws Exception {
+        HubspotWriteCoalescer coalescer = new HubspotWriteCoalescer();
+        AtomicInteger requests = new AtomicInteger();
+
+        // answers in reverse order so routing has to rely on the trace IDs
+        HubspotWriteCoalescer.Sender sender = inputs -> {
+            requests.incrementAndGet();
+            List<HubspotBatchResponse.Result> results = new ArrayList<>();
+            for (Map<String, Object> input : inputs.reversed()) {
+                HubspotBatchResponse.Result result = new HubspotBatchResponse.Result();
+                result.setId("id-" + input.get("name"));
+                result.setObjectWriteTraceId((String) input.get("objectWriteTraceId"));
+                results.add(result);
+            }
+            HubspotBatchResponse response = new HubspotBatchResponse();
+            response.setResults(results);
+            return response;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<HubspotBatchResponse.Result>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Map<String, Object> input = Map.of("name", "record-" + i);
+                futures.add(executor.submit(() -> coalescer.submit(input, Duration.ofSeconds(5), 5, sender)));
+            }
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(futures.get(i).get().getId(), is("id-record-" + i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(requests.get(), is(1));
+    }
+
+    @Test
+    void shouldNotAddTheSameRecordTwiceToABatch() {
+        HubspotWriteCoalescer coalescer = new HubspotWriteCoalescer();
+
+        assertThat(coalescer.join(Map.of("id", "42"), 100).leader(), is(true));
+        assertThat(coalescer.join(Map.of("id", "42"), 100), is(nullValue()));
+        assertThat(coalescer.join(Map.of("id", "43"), 100).leader(), is(false));
+    }
+
+    @Test
+    void shouldFailEveryWriteWhenTheBatchFails() {
+        HubspotWriteCoalescer coalescer = new HubspotWriteCoalescer();
+
+        RuntimeException thrown = assertThrows(
+            RuntimeException.class,
+            () -> coalescer.submit(Map.of("name", "a"), Duration.ZERO, 100, inputs -> {
+                throw new HubspotException(503, "HubSpot API error: boom", null);
+            })
+        );
+
+        assertThat(thrown.getMessage(), is("HubSpot API error: boom"));
+    }
+
+    @Test
+    void shouldOnlyFailTheInvalidWriteWhenTheBatchIsRejected() throws Exception {
+        HubspotWriteCoalescer coalescer = new HubspotWriteCoalescer();
+        AtomicInteger requests = new AtomicInteger();
+
+        HubspotWriteCoalescer.Sender sender = inputs -> {
+            requests.incrementAndGet();
+            if (inputs.stream().anyMatch(input -> "bad".equals(input.get("name")))) {
+                throw new HubspotException(400, "HubSpot API error: invalid email", null);
+            }
+
+            HubspotBatchResponse.Result result = new HubspotBatchResponse.Result();
+            result.setId("id-" + inputs.getFirst().get("name"));
+            result.setObjectWriteTraceId((String) inputs.getFirst().get("objectWriteTraceId"));
+            HubspotBatchResponse response = new HubspotBatchResponse();
+            response.setResults(List.of(result));
+            return response;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<HubspotBatchResponse.Result> good = executor.submit(() -> coalescer.submit(Map.of("name", "good"), Duration.ofSeconds(5), 2, sender));
+            Future<HubspotBatchResponse.Result> bad = executor.submit(() -> coalescer.submit(Map.of("name", "bad"), Duration.ofSeconds(5), 2, sender));
+
+            assertThat(good.get().getId(), is("id-good"));
+            ExecutionException thrown = assertThrows(ExecutionException.class, bad::get);
+            assertThat(thrown.getCause().getMessage(), is("HubSpot API error: invalid email"));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(requests.get(), is(3));
+    }
+
+    @Test
+    void shouldReleaseFollowersWhenTheLeaderIsInterrupted() throws Exception {
+        HubspotWriteCoalescer coalescer = new HubspotWriteCoalescer();
+        HubspotWriteCoalescer.Sender sender = inputs -> {
+            throw new IllegalStateException("the abandoned batch must not be sent");
+        };
+
+        Thread leader = new Thread(() -> {
+            try {
+                coalescer.submit(Map.of("name", "leader"), Duration.ofMinutes(1), 100, sender);
+            } catch (Exception ignored) {
+                // interrupted on purpose
+            }
+        });
+        leader.start();
+        Thread.sleep(200);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<HubspotBatchResponse.Result> follower = executor.submit(() -> coalescer.submit(Map.of("name", "follower"), Duration.ofMinutes(1), 100, sender));
+            Thread.sleep(200);
+            leader.interrupt();
+
+            // the follower is told to send its write alone
+            assertThat(follower.get(5, TimeUnit.SECONDS), is(nullValue()));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(coalescer.join(Map.of("name", "next"), 100).leader(), is(true));
+    }
+
+    @Test
+    void shouldDropCoalescerOnceItsLastWriteIsAnswered() throws Exception {
+        String portal = "portal-" + UUID.randomUUID();
+        HubspotWriteCoalescer.Sender sender = inputs -> {
+            // the write is still pending while it is sent
+            assertThat(HubspotWriteCoalescer.isOpen(portal, "/batch/create"), is(true));
+
+            HubspotBatchResponse.Result result = new HubspotBatchResponse.Result();
+            result.setId("1");
+            result.setObjectWriteTraceId((String) inputs.getFirst().get("objectWriteTraceId"));
+            HubspotBatchResponse response = new HubspotBatchResponse();
+            response.setResults(List.of(result));
+            return response;
+        };
+
+        HubspotBatchResponse.Result result = HubspotWriteCoalescer.submit(portal, "/batch/create", Map.of("name", "a"), Duration.ZERO, 100, sender);
+
+        assertThat(result.getId(), is("1"));
+        assertThat(HubspotWriteCoalescer.isOpen(portal, "/batch/create"), is(false));
+        assertThrows(
+            RuntimeException.class,
+            () -> HubspotWriteCoalescer.submit(portal, "/batch/create", Map.of("name", "b"), Duration.ZERO, 100, inputs -> {
+                throw new HubspotException(503, "HubSpot API error: boom", null);
+            })
+        );
+        assertThat(HubspotWriteCoalescer.isOpen(portal, "/batch/create"), is(false));
+    }
+}
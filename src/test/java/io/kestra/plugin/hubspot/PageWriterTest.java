@@ -0,0 +1,69 @@
+package io.kestra.plugin.hubspot;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PageWriterTest {
+
+    @Test
+    void shouldWritePagesInSubmissionOrder() throws Exception {
+        StringWriter output = new StringWriter();
+
+        try (PageWriter pageWriter = new PageWriter(output, 1)) {
+            pageWriter.submit(List.of(Map.of("id", "1"), Map.of("id", "2")));
+            pageWriter.submit(List.of(Map.of("id", "3")));
+
+            assertThat(pageWriter.finish(), is(3L));
+        }
+
+        assertThat(output.toString(), is("{id:\"1\"}\n{id:\"2\"}\n{id:\"3\"}\n"));
+    }
+
+    @Test
+    void shouldStopThePageBeingWrittenBeforeClosing() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        // a write that only ends once interrupted, like one stuck on a full disk
+        Writer output = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                writing.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    stopped.set(true);
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        PageWriter pageWriter = new PageWriter(output, 1);
+        pageWriter.submit(List.of(Map.of("id", "1")));
+        assertThat(writing.await(10, TimeUnit.SECONDS), is(true));
+
+        pageWriter.close();
+
+        assertThat(stopped.get(), is(true));
+    }
+}
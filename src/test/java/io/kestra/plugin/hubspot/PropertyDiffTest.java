@@ -0,0 +1,60 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PropertyDiffTest {
+
+    @Test
+    void shouldCompareValuesAsHubspotReturnsThem() {
+        Map<String, Object> desired = new HashMap<>();
+        desired.put("amount", 1500.0);
+        desired.put("hs_is_closed", true);
+        desired.put("closedate", 1704067200000L);
+        desired.put("description", null);
+
+        Map<String, Object> current = Map.of(
+            "amount", "1500",
+            "hs_is_closed", "TRUE",
+            "closedate", "2024-01-01T00:00:00Z",
+            "description", ""
+        );
+
+        assertThat(PropertyDiff.unchanged(desired, current), is(true));
+    }
+
+    @Test
+    void shouldDetectChangedValue() {
+        assertThat(PropertyDiff.unchanged(Map.of("firstname", "John"), Map.of("firstname", "Johnny")), is(false));
+        assertThat(PropertyDiff.unchanged(Map.of("amount", 10.5), Map.of("amount", "10.50")), is(true));
+        assertThat(PropertyDiff.unchanged(Map.of("amount", "10.5"), null), is(false));
+    }
+
+    @Test
+    void shouldCompareStringsVerbatim() {
+        assertThat(PropertyDiff.unchanged(Map.of("zip", "02134"), Map.of("zip", "2134")), is(false));
+        assertThat(PropertyDiff.unchanged(Map.of("phone", "1e3"), Map.of("phone", "1000")), is(false));
+        assertThat(PropertyDiff.unchanged(Map.of("zip", "02134"), Map.of("zip", "02134")), is(true));
+        assertThat(PropertyDiff.unchanged(Map.of("firstname", "John "), Map.of("firstname", "John")), is(false));
+        assertThat(PropertyDiff.unchanged(Map.of("firstname", "John"), Map.of("firstname", " John")), is(false));
+    }
+
+    @Test
+    void shouldFingerprintIndependentlyOfKeyOrder() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", "1");
+        first.put("b", 2.0);
+
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", "2");
+        second.put("a", 1);
+
+        assertThat(PropertyDiff.fingerprint(first), is(PropertyDiff.fingerprint(second)));
+    }
+}
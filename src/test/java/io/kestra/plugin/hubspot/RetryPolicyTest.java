@@ -0,0 +1,90 @@
+package io.kestra.plugin.hubspot;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = RetryPolicy.builder()
+        .maxAttempts(5)
+        .baseDelay(Duration.ofSeconds(1))
+        .maxDelay(Duration.ofSeconds(10))
+        .jitter(0)
+        .maxDuration(Duration.ofMinutes(1))
+        .build();
+
+    @Test
+    void shouldRetryRateLimitAndServerErrors() {
+        assertThat(policy.isRetryable(429, "TEN_SECONDLY_ROLLING"), is(true));
+        assertThat(policy.isRetryable(502, null), is(true));
+        assertThat(policy.isRetryable(503, null), is(true));
+        assertThat(policy.isRetryable(423, null), is(true));
+    }
+
+    @Test
+    void shouldNotRetryClientErrorsOrDailyQuota() {
+        assertThat(policy.isRetryable(400, null), is(false));
+        assertThat(policy.isRetryable(404, null), is(false));
+        assertThat(policy.isRetryable(429, "DAILY"), is(false));
+    }
+
+    @Test
+    void shouldDoubleDelayUpToMaxDelay() {
+        assertThat(policy.delay(1, null), is(Duration.ofSeconds(1)));
+        assertThat(policy.delay(2, null), is(Duration.ofSeconds(2)));
+        assertThat(policy.delay(3, null), is(Duration.ofSeconds(4)));
+        assertThat(policy.delay(6, null), is(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void shouldHonorLongerRetryAfter() {
+        HttpHeaders headers = HttpHeaders.of(Map.of("Retry-After", List.of("7")), (name, value) -> true);
+
+        assertThat(policy.delay(1, RetryPolicy.retryAfter(headers)), is(Duration.ofSeconds(7)));
+        assertThat(RetryPolicy.retryAfter(null), is(nullValue()));
+    }
+
+    @Test
+    void shouldOnlyRetryCreatesHubspotDidNotProcess() {
+        assertThat(policy.isRetryable(429, "TEN_SECONDLY_ROLLING", false), is(true));
+        assertThat(policy.isRetryable(423, null, false), is(true));
+        assertThat(policy.isRetryable(502, null, false), is(false));
+        assertThat(policy.isRetryable(502, null, true), is(true));
+    }
+
+    @Test
+    void shouldOnlyRetryCreatedItemsHubspotDidNotProcess() {
+        assertThat(policy.isRetryable("RATE_LIMITS", false), is(true));
+        assertThat(policy.isRetryable("LOCKED", false), is(true));
+        assertThat(policy.isRetryable("TIMEOUT", false), is(false));
+        assertThat(policy.isRetryable("INTERNAL_ERROR", false), is(false));
+        assertThat(policy.isRetryable("INTERNAL_ERROR", true), is(true));
+        assertThat(policy.isRetryable("VALIDATION_ERROR", true), is(false));
+    }
+
+    @Test
+    void shouldTellCreatesFromIdempotentRequests() {
+        assertThat(RetryPolicy.isIdempotent("GET", "/crm/v3/objects/contacts/1"), is(true));
+        assertThat(RetryPolicy.isIdempotent("PATCH", "/crm/v3/objects/contacts/1"), is(true));
+        assertThat(RetryPolicy.isIdempotent("POST", "/crm/v3/objects/contacts/search"), is(true));
+        assertThat(RetryPolicy.isIdempotent("POST", "/crm/v3/objects/contacts/batch/upsert"), is(true));
+        assertThat(RetryPolicy.isIdempotent("POST", "/crm/v3/objects/contacts"), is(false));
+        assertThat(RetryPolicy.isIdempotent("POST", "/crm/v3/objects/contacts/batch/create"), is(false));
+    }
+
+    @Test
+    void shouldOnlyTreatConnectFailuresAsNeverSent() {
+        assertThat(RetryPolicy.isNeverSent(new RuntimeException(new ConnectException("refused"))), is(true));
+        assertThat(RetryPolicy.isNeverSent(new RuntimeException(new SocketTimeoutException("read timed out"))), is(false));
+    }
+}
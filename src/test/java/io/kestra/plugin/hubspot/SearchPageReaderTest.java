@@ -0,0 +1,53 @@
+package io.kestra.plugin.hubspot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class SearchPageReaderTest {
+
+    private final SearchPageReader reader = new SearchPageReader(JacksonMapper.ofJson(false));
+
+    @Test
+    void shouldEmitPropertiesAndReadCursor() throws Exception {
+        String body = "{\"total\":250,"
+            + "\"results\":["
+            + "{\"id\":\"101\",\"properties\":{\"email\":\"a@example.com\",\"hs_object_id\":\"101\"},"
+            + "\"createdAt\":\"2024-01-01T00:00:00Z\",\"archived\":false},"
+            + "{\"id\":\"102\",\"properties\":{\"email\":\"b@example.com\",\"hs_object_id\":\"102\"},"
+            + "\"associations\":{\"companies\":{\"results\":[{\"id\":\"9\"}]}}}"
+            + "],"
+            + "\"paging\":{\"next\":{\"after\":\"2\",\"link\":\"?after=2\"}}}";
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        SearchPageReader.Page page = reader.read(body.getBytes(StandardCharsets.UTF_8), records::add);
+
+        assertThat(records, hasSize(2));
+        assertThat(records.get(0).get("email"), is("a@example.com"));
+        assertThat(records.get(1).get("hs_object_id"), is("102"));
+        assertThat(page.getCount(), is(2L));
+        assertThat(page.getTotal(), is(250L));
+        assertThat(page.getAfter(), is("2"));
+        assertThat(page.getLastId(), is("102"));
+    }
+
+    @Test
+    void shouldReturnNoCursorOnLastPage() throws Exception {
+        String body = "{\"total\":1,\"results\":[{\"id\":\"1\",\"properties\":{}}]}";
+
+        SearchPageReader.Page page = reader.read(body.getBytes(StandardCharsets.UTF_8), r -> {});
+
+        assertThat(page.getCount(), is(1L));
+        assertThat(page.getAfter(), is(nullValue()));
+    }
+}
@@ -0,0 +1,49 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class SearchWatermarkTest {
+
+    private static final String MODIFIED = "lastmodifieddate";
+
+    @Test
+    void shouldAcceptEverythingOnFirstRun() {
+        SearchWatermark watermark = SearchWatermark.from(MODIFIED, null);
+
+        assertThat(watermark.isNew(record("2024-05-01T10:00:00Z", "1")), is(true));
+        assertThat(watermark.hasAdvanced(), is(false));
+    }
+
+    @Test
+    void shouldUseIdAsTieBreakerOnSameTimestamp() {
+        long mark = SearchWatermark.toEpochMillis("2024-05-01T10:00:00Z");
+        SearchWatermark watermark = SearchWatermark.from(MODIFIED, Map.of("modifiedAt", mark, "id", 50L));
+
+        assertThat(watermark.isNew(record("2024-05-01T10:00:00Z", "50")), is(false));
+        assertThat(watermark.isNew(record("2024-05-01T10:00:00Z", "51")), is(true));
+        assertThat(watermark.isNew(record("2024-05-01T10:00:01Z", "3")), is(true));
+    }
+
+    @Test
+    void shouldAdvanceToNewestRecordSeen() {
+        SearchWatermark watermark = SearchWatermark.from(MODIFIED, null);
+
+        watermark.observe(record("2024-05-01T10:00:00Z", "7"));
+        watermark.observe(record("2024-05-02T08:00:00Z", "3"));
+        watermark.observe(record("2024-05-02T08:00:00Z", "9"));
+        watermark.observe(record("2024-04-30T00:00:00Z", "99"));
+
+        assertThat(watermark.hasAdvanced(), is(true));
+        assertThat(watermark.getModifiedAt(), is(SearchWatermark.toEpochMillis("2024-05-02T08:00:00Z")));
+        assertThat(watermark.getId(), is(9L));
+    }
+
+    private static Map<String, Object> record(String modified, String id) {
+        return Map.of(MODIFIED, modified, "hs_object_id", id);
+    }
+}
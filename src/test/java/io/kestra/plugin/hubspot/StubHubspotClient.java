@@ -0,0 +1,85 @@
+package io.kestra.plugin.hubspot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.HttpResponse;
+import io.kestra.core.http.client.HttpClientException;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Client answering HubSpot requests without network, recording the JSON body
+ * of each request.
+ */
+class StubHubspotClient extends HubspotClient {
+
+    private final Responder responder;
+
+    final List<Map<String, Object>> requests = new ArrayList<>();
+
+    StubHubspotClient(Responder responder) {
+        super((RunContext) null, null);
+        this.responder = responder;
+    }
+
+    /**
+     * A client answering batch requests from their {@code inputs}.
+     */
+    @SuppressWarnings("unchecked")
+    static StubHubspotClient batch(BatchResponder responder) {
+        return new StubHubspotClient(body -> responder.respond((List<Map<String, Object>>) body.get("inputs")));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> HttpResponse<T> request(HttpRequest request, Class<T> responseType) throws HttpClientException {
+        Map<String, Object> body;
+        try {
+            body = request.getBody() == null ? Map.of() :
+                JacksonMapper.ofJson().readValue(((HttpRequest.StringRequestBody) request.getBody()).getContent(), Map.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        requests.add(body);
+
+        Object response = responder.respond(body);
+        T converted;
+        try {
+            converted = responseType == byte[].class ?
+                (T) JacksonMapper.ofJson().writeValueAsBytes(response) :
+                JacksonMapper.ofJson().convertValue(response, responseType);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        return HttpResponse.<T>builder()
+            .status(HttpResponse.Status.builder().code(200).reason("OK").build())
+            .body(converted)
+            .build();
+    }
+
+    /**
+     * The error the HTTP client throws for a response with this status and body.
+     */
+    static HttpClientResponseException rejection(int status, String body) {
+        HttpResponse<?> response = HttpResponse.builder()
+            .status(HttpResponse.Status.builder().code(status).reason("Error").build())
+            .build();
+
+        return new HttpClientResponseException("Failed http request with response code '" + status + "' and body:\n" + body, response);
+    }
+
+    @FunctionalInterface
+    interface Responder {
+        Object respond(Map<String, Object> body) throws HttpClientException;
+    }
+
+    @FunctionalInterface
+    interface BatchResponder {
+        Object respond(List<Map<String, Object>> inputs) throws HttpClientException;
+    }
+}
@@ -0,0 +1,54 @@
+package io.kestra.plugin.hubspot.deals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DealRequestTest {
+
+    @Test
+    void shouldMapRowLikeCreateTask() {
+        DealRequest request = DealRequest.fromRow(Map.of(
+            "name", "Big deal",
+            "pipeline", "default",
+            "stage", "appointmentscheduled",
+            "amount", 1500,
+            "associatedCompanyIds", List.of(12, "34"),
+            "additionalProperties", Map.of("hs_priority", "high")
+        ));
+
+        assertThat(request.getProperties(), hasEntry("dealname", "Big deal"));
+        assertThat(request.getProperties(), hasEntry("dealstage", "appointmentscheduled"));
+        assertThat(request.getProperties(), hasEntry("amount", 1500.0));
+        assertThat(request.getProperties(), hasEntry("hs_priority", "high"));
+        assertThat(request.getAssociations(), hasSize(2));
+        assertThat(request.getAssociations().get(1).getId(), is(34L));
+    }
+
+    @Test
+    void shouldRejectRowWithoutRequiredField() {
+        IllegalArgumentException e = assertThrows(
+            IllegalArgumentException.class,
+            () -> DealRequest.fromRow(Map.of("name", "Big deal", "pipeline", "default"))
+        );
+
+        assertThat(e.getMessage(), containsString("stage"));
+    }
+
+    @Test
+    void shouldAcceptPartialRowForUpsert() {
+        DealRequest request = DealRequest.fromRow(Map.of(
+            "amount", 900,
+            "additionalProperties", Map.of("external_id", "D-42")
+        ), false);
+
+        assertThat(request.getProperties(), hasEntry("amount", 900.0));
+        assertThat(request.getProperties(), hasEntry("external_id", "D-42"));
+        assertThat(request.getProperties(), not(hasKey("dealname")));
+    }
+}